@@ -19,6 +19,7 @@ import net.javacrumbs.jsonunit.core.Configuration;
 import net.javacrumbs.jsonunit.core.ConfigurationWhen.ApplicableForPath;
 import net.javacrumbs.jsonunit.core.ConfigurationWhen.PathsParam;
 import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.PathExpectation;
 import net.javacrumbs.jsonunit.core.internal.Diff;
 import net.javacrumbs.jsonunit.core.internal.JsonUtils;
 import net.javacrumbs.jsonunit.core.internal.Node;
@@ -31,7 +32,6 @@ import org.assertj.core.api.AbstractAssert;
 import org.assertj.core.api.AbstractStringAssert;
 import org.assertj.core.api.BigDecimalAssert;
 import org.assertj.core.api.BooleanAssert;
-import org.assertj.core.api.ListAssert;
 import org.assertj.core.api.MapAssert;
 import org.assertj.core.api.StringAssert;
 import org.assertj.core.description.Description;
@@ -66,7 +66,8 @@ public class JsonAssert extends AbstractAssert<JsonAssert, Object> {
         super(JsonUtils.convertToJson(actual, "actual"), JsonAssert.class);
         this.path = path;
         this.configuration = configuration;
-        this.internalMatcher = new InternalMatcher(actual, path.asPrefix(), "", configuration);
+        // pass the already parsed value so the matcher does not parse it again
+        this.internalMatcher = new InternalMatcher(this.actual, path.asPrefix(), "", configuration);
         usingComparator(new JsonComparator(configuration, path, false));
     }
 
@@ -97,6 +98,17 @@ public class JsonAssert extends AbstractAssert<JsonAssert, Object> {
         return this;
     }
 
+    /**
+     * Checks multiple nodes in one pass over the document. Paths are relative to the current node,
+     * all the failures are reported together.
+     *
+     * @param expectations path to expected value, Hamcrest matcher or {@link PathExpectation}
+     */
+    public JsonAssert hasPaths(Map<String, ?> expectations) {
+        internalMatcher.describedAs(info.descriptionText()).hasPaths(expectations);
+        return this;
+    }
+
     /**
      * Compares JSONs.
      */
@@ -177,10 +189,11 @@ public class JsonAssert extends AbstractAssert<JsonAssert, Object> {
      *
      * @return
      */
-    public ListAssert<Object> isArray() {
+    public JsonListAssert isArray() {
         Node node = assertType(ARRAY);
-        return new JsonListAssert((List<?>)node.getValue(), path.asPrefix(), configuration)
-            .as("Different value found in node \"%s\"", path);
+        JsonListAssert listAssert = new JsonListAssert((List<?>)node.getValue(), path.asPrefix(), configuration);
+        listAssert.as("Different value found in node \"%s\"", path);
+        return listAssert;
     }
 
     /**
@@ -258,12 +271,8 @@ public class JsonAssert extends AbstractAssert<JsonAssert, Object> {
      * </code>
      */
     public static class ConfigurableJsonAssert extends JsonAssert {
-        // Want to pass to inPath to not parse twice.
-        private final Object originalActual;
-
         ConfigurableJsonAssert(Path path, Configuration configuration, Object actual) {
             super(path, configuration, actual);
-            this.originalActual = actual;
         }
 
         ConfigurableJsonAssert(Object actual, Configuration configuration) {
@@ -307,7 +316,8 @@ public class JsonAssert extends AbstractAssert<JsonAssert, Object> {
          */
         public ConfigurableJsonAssert withConfiguration(Function<Configuration, Configuration> configurationFunction) {
             Configuration newConfiguration = configurationFunction.apply(configuration);
-            newConfiguration = resolveJsonPaths(originalActual, newConfiguration);
+            // JsonPaths are evaluated on the already parsed value
+            newConfiguration = resolveJsonPaths(actual, newConfiguration);
             return new ConfigurableJsonAssert(path, newConfiguration, actual);
         }
 
@@ -372,7 +382,7 @@ public class JsonAssert extends AbstractAssert<JsonAssert, Object> {
         }
 
         public JsonAssert inPath(String jsonPath) {
-            return new JsonAssert(JsonPathAdapter.inPath(originalActual, jsonPath), configuration);
+            return new JsonAssert(JsonPathAdapter.inPath(actual, jsonPath), configuration);
         }
 
         // Following methods are here just to return ConfigurableJsonAssert instead of JsonAssert
@@ -0,0 +1,298 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.assertj;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.internal.Diff;
+import net.javacrumbs.jsonunit.core.internal.Node;
+import net.javacrumbs.jsonunit.core.internal.Path;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertExpectedToJson;
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.wrapDeserializedObject;
+
+/**
+ * Finds actual elements that are similar to expected values. Actual elements are wrapped only once and
+ * indexed by a fingerprint that is the same for all similar values, so expected values are compared only
+ * with plausible candidates. The fingerprint consists of the node type, object keys, array size and values
+ * of leaf nodes that are compared for equality. Everything that can be made similar by placeholders or
+ * by the configuration is left out of the fingerprint.
+ */
+class JsonElementIndex {
+    /**
+     * If expected values have too many different shapes, the elements are not indexed.
+     */
+    private static final int MAX_PROJECTIONS = 16;
+
+    private final List<Node> elements = new ArrayList<>();
+    private final boolean[] removed;
+    private final Path path;
+    private final Configuration configuration;
+    private final boolean indexingEnabled;
+    private final boolean compareKeys;
+    private final boolean compareArraySizes;
+    private final boolean compareValues;
+    private final boolean compareNumbers;
+    private final boolean nullAsAbsent;
+    private final Map<Projection, Map<String, List<Integer>>> indexes = new HashMap<>();
+
+    JsonElementIndex(Collection<?> actual, Path path, Configuration configuration) {
+        for (Object element : actual) {
+            elements.add(wrapDeserializedObject(element));
+        }
+        this.removed = new boolean[elements.size()];
+        this.path = path;
+        this.configuration = configuration;
+        Set<Option> options = configuration.getOptions().values();
+        this.indexingEnabled = configuration.getPathsToBeIgnored().isEmpty() && configuration.getPathOptions().isEmpty()
+            && !options.contains(Option.COMPARING_ONLY_STRUCTURE);
+        this.nullAsAbsent = options.contains(Option.TREATING_NULL_AS_ABSENT);
+        this.compareKeys = !options.contains(Option.IGNORING_EXTRA_FIELDS) && !nullAsAbsent;
+        this.compareArraySizes = !options.contains(Option.IGNORING_EXTRA_ARRAY_ITEMS);
+        this.compareValues = !options.contains(Option.IGNORING_VALUES);
+        this.compareNumbers = compareValues && configuration.getTolerance() == null;
+    }
+
+    /**
+     * Returns true if there is an element similar to the expected value.
+     */
+    boolean contains(Object expected) {
+        return find(expected) >= 0;
+    }
+
+    /**
+     * Removes the first element similar to the expected value. Returns false if there is no such element.
+     */
+    boolean remove(Object expected) {
+        int index = find(expected);
+        if (index >= 0) {
+            removed[index] = true;
+            return true;
+        }
+        return false;
+    }
+
+    private int find(Object expected) {
+        Node expectedNode = convertExpectedToJson(expected);
+        Projection projection = indexingEnabled ? projection(expectedNode) : null;
+        Map<String, List<Integer>> index = projection != null ? index(projection) : null;
+        if (index == null) {
+            for (int i = 0; i < elements.size(); i++) {
+                if (!removed[i] && similar(expectedNode, elements.get(i))) {
+                    return i;
+                }
+            }
+        } else {
+            List<Integer> candidates = index.get(projection.fingerprint(expectedNode));
+            if (candidates != null) {
+                for (int i : candidates) {
+                    if (!removed[i] && similar(expectedNode, elements.get(i))) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean similar(Node expected, Node actual) {
+        return Diff.create(expected, actual, "", path, configuration).similar();
+    }
+
+    private Map<String, List<Integer>> index(Projection projection) {
+        Map<String, List<Integer>> index = indexes.get(projection);
+        if (index == null) {
+            if (indexes.size() >= MAX_PROJECTIONS) {
+                return null;
+            }
+            index = new HashMap<>();
+            for (int i = 0; i < elements.size(); i++) {
+                index.computeIfAbsent(projection.fingerprint(elements.get(i)), key -> new ArrayList<>()).add(i);
+            }
+            indexes.put(projection, index);
+        }
+        return index;
+    }
+
+    /**
+     * Describes which parts of the value are part of the fingerprint. Returns null if the expected value can be similar
+     * to values of any type.
+     */
+    private Projection projection(Node expected) {
+        if (isPlaceholder(expected)) {
+            return null;
+        }
+        Node.NodeType type = expected.getNodeType();
+        Set<String> comparedFields = new TreeSet<>();
+        boolean withSize = false;
+        if (type == Node.NodeType.OBJECT) {
+            withSize = compareKeys;
+            Iterator<Node.KeyValue> fields = expected.fields();
+            while (fields.hasNext()) {
+                Node.KeyValue field = fields.next();
+                Node value = field.getValue();
+                if (isIgnoredElement(value)) {
+                    // ignored elements do not have to be present
+                    withSize = false;
+                } else if (!isPlaceholder(value) && isComparedLeaf(value) && !(nullAsAbsent && value.isNull())) {
+                    comparedFields.add(field.getKey());
+                }
+            }
+        } else if (type == Node.NodeType.ARRAY) {
+            withSize = compareArraySizes;
+            Iterator<Node> elements = expected.arrayElements();
+            while (elements.hasNext()) {
+                if (isIgnoredElement(elements.next())) {
+                    withSize = false;
+                }
+            }
+        }
+        return new Projection(type, withSize, comparedFields);
+    }
+
+    private static boolean isIgnoredElement(Node node) {
+        return node.getNodeType() == Node.NodeType.STRING && "${json-unit.ignore-element}".equals(node.asText());
+    }
+
+    private boolean isPlaceholder(Node node) {
+        if (node.getNodeType() != Node.NodeType.STRING) {
+            return false;
+        }
+        String value = node.asText();
+        return value.startsWith("${json-unit.") || value.startsWith("#{json-unit.") || configuration.shouldIgnore(value);
+    }
+
+    private boolean isComparedLeaf(Node node) {
+        switch (node.getNodeType()) {
+            case STRING:
+            case BOOLEAN:
+                return compareValues;
+            case NUMBER:
+                return compareNumbers;
+            case NULL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private final class Projection {
+        private final Node.NodeType type;
+        private final boolean withSize;
+        private final Set<String> comparedFields;
+
+        private Projection(Node.NodeType type, boolean withSize, Set<String> comparedFields) {
+            this.type = type;
+            this.withSize = withSize;
+            this.comparedFields = comparedFields;
+        }
+
+        String fingerprint(Node node) {
+            Node.NodeType nodeType = node.getNodeType();
+            StringBuilder fingerprint = new StringBuilder(nodeType.name());
+            if (nodeType != type) {
+                return fingerprint.toString();
+            }
+            switch (nodeType) {
+                case OBJECT:
+                    if (withSize) {
+                        Map<String, Node> fields = new TreeMap<>();
+                        Iterator<Node.KeyValue> iterator = node.fields();
+                        while (iterator.hasNext()) {
+                            Node.KeyValue field = iterator.next();
+                            fields.put(field.getKey(), field.getValue());
+                        }
+                        fingerprint.append(fields.size());
+                        for (String key : fields.keySet()) {
+                            appendString(fingerprint, key);
+                        }
+                    }
+                    for (String field : comparedFields) {
+                        appendLeaf(fingerprint, node.get(field));
+                    }
+                    break;
+                case ARRAY:
+                    if (withSize) {
+                        fingerprint.append(node.size());
+                    }
+                    break;
+                default:
+                    appendLeaf(fingerprint, node);
+            }
+            return fingerprint.toString();
+        }
+
+        private void appendLeaf(StringBuilder fingerprint, Node node) {
+            fingerprint.append('|');
+            if (node.isMissingNode()) {
+                fingerprint.append('-');
+                return;
+            }
+            Node.NodeType nodeType = node.getNodeType();
+            fingerprint.append(nodeType.ordinal());
+            switch (nodeType) {
+                case STRING:
+                    if (compareValues) {
+                        appendString(fingerprint, node.asText());
+                    }
+                    break;
+                case NUMBER:
+                    if (compareNumbers) {
+                        fingerprint.append(node.decimalValue());
+                    }
+                    break;
+                case BOOLEAN:
+                    if (compareValues) {
+                        fingerprint.append(node.asBoolean());
+                    }
+                    break;
+                default:
+                    // types are compared
+            }
+        }
+
+        private void appendString(StringBuilder fingerprint, String value) {
+            fingerprint.append(value.length()).append(':').append(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Projection)) {
+                return false;
+            }
+            Projection that = (Projection) o;
+            return type == that.type && withSize == that.withSize && comparedFields.equals(that.comparedFields);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * type.hashCode() + Boolean.hashCode(withSize)) + comparedFields.hashCode();
+        }
+    }
+}
@@ -21,12 +21,16 @@ import net.javacrumbs.jsonunit.core.internal.Path;
 import org.assertj.core.api.ListAssert;
 import org.assertj.core.internal.Failures;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.wrapDeserializedObject;
 import static org.assertj.core.error.ShouldNotBeEqual.shouldNotBeEqual;
 
-class JsonListAssert extends ListAssert<Object> {
+/**
+ * List assert comparing elements as JSON. Returned by {@link JsonAssert#isArray()}.
+ */
+public class JsonListAssert extends ListAssert<Object> {
     private final Configuration configuration;
     private final Path path;
 
@@ -56,6 +60,43 @@ class JsonListAssert extends ListAssert<Object> {
         return this;
     }
 
+    /**
+     * Verifies that the array contains the given values, like {@link #contains(Object[])}. The elements are parsed
+     * and indexed only once, so it's faster than <code>contains</code> for large arrays. If some value is not found,
+     * the failure is reported by <code>contains</code>.
+     */
+    public JsonListAssert containsJsonValues(Object... values) {
+        if (values.length > 0) {
+            JsonElementIndex index = createIndex();
+            if (Arrays.stream(values).allMatch(index::contains)) {
+                return this;
+            }
+        }
+        contains(values);
+        return this;
+    }
+
+    /**
+     * Verifies that the array contains exactly the given values in any order, like
+     * {@link #containsExactlyInAnyOrder(Object[])}. The elements are parsed and indexed only once, so it's faster
+     * than <code>containsExactlyInAnyOrder</code> for large arrays. If the values do not match, the failure is reported
+     * by <code>containsExactlyInAnyOrder</code>.
+     */
+    public JsonListAssert containsExactlyInAnyOrderJsonValues(Object... values) {
+        if (values.length == actual.size()) {
+            JsonElementIndex index = createIndex();
+            if (Arrays.stream(values).allMatch(index::remove)) {
+                return this;
+            }
+        }
+        containsExactlyInAnyOrder(values);
+        return this;
+    }
+
+    private JsonElementIndex createIndex() {
+        return new JsonElementIndex(actual, path.asPrefix(), configuration);
+    }
+
     private Diff createDiff(Object other) {
         return Diff.create(other, wrapDeserializedObject(actual), "fullJson", path, configuration);
     }
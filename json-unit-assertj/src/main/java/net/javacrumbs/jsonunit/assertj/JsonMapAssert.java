@@ -105,6 +105,6 @@ class JsonMapAssert extends MapAssert<String, Object> {
     }
 
     private boolean contains(Object expected) {
-        return actual.entrySet().stream().anyMatch(kv -> Diff.create(expected, kv.getValue(), "fullJson", path.asPrefix(), configuration).similar());
+        return new JsonElementIndex(actual.values(), path.asPrefix(), configuration).contains(expected);
     }
 }
@@ -37,10 +37,11 @@ import static java.util.Arrays.asList;
  */
 public class Configuration {
     private static final DifferenceListener DUMMY_LISTENER = (difference, context) -> {};
+    private static final int UNLIMITED = Integer.MAX_VALUE;
 
     private static final String DEFAULT_IGNORE_PLACEHOLDER = "${json-unit.ignore}";
     private static final String ALTERNATIVE_IGNORE_PLACEHOLDER = "#{json-unit.ignore}";
-    private static final Configuration EMPTY_CONFIGURATION = new Configuration(null, Options.empty(), DEFAULT_IGNORE_PLACEHOLDER, Matchers.empty(), Collections.emptySet(), DUMMY_LISTENER, Collections.emptyList());
+    private static final Configuration EMPTY_CONFIGURATION = new Configuration(null, Options.empty(), DEFAULT_IGNORE_PLACEHOLDER, Matchers.empty(), Collections.emptySet(), DUMMY_LISTENER, Collections.emptyList(), UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED);
     private final BigDecimal tolerance;
     private final Options options;
     private final String ignorePlaceholder;
@@ -48,13 +49,20 @@ public class Configuration {
     private final List<PathOption> pathOptions;
     private final Set<String> pathsToBeIgnored;
     private final DifferenceListener differenceListener;
+    private final int maxDifferences;
+    private final int maxDifferencesPerArray;
+    private final int differenceGroupExamples;
+    private final int maxMessageLength;
+    private final int maxDifferenceLength;
+    private final int maxDifferenceArrayElements;
+    private final int maxDifferenceDepth;
 
     @Deprecated
     public Configuration(BigDecimal tolerance, Options options, String ignorePlaceholder) {
-        this(tolerance, options, ignorePlaceholder, Matchers.empty(), Collections.emptySet(), DUMMY_LISTENER, Collections.emptyList());
+        this(tolerance, options, ignorePlaceholder, Matchers.empty(), Collections.emptySet(), DUMMY_LISTENER, Collections.emptyList(), UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED);
     }
 
-    private Configuration(BigDecimal tolerance, Options options, String ignorePlaceholder, Matchers matchers, Set<String> pathsToBeIgnored, DifferenceListener differenceListener, List<PathOption> pathOptions) {
+    private Configuration(BigDecimal tolerance, Options options, String ignorePlaceholder, Matchers matchers, Set<String> pathsToBeIgnored, DifferenceListener differenceListener, List<PathOption> pathOptions, int maxDifferences, int maxDifferencesPerArray, int differenceGroupExamples, int maxMessageLength, int maxDifferenceLength, int maxDifferenceArrayElements, int maxDifferenceDepth) {
         this.tolerance = tolerance;
         this.options = options;
         this.ignorePlaceholder = ignorePlaceholder;
@@ -62,6 +70,13 @@ public class Configuration {
         this.pathsToBeIgnored = pathsToBeIgnored;
         this.pathOptions = pathOptions;
         this.differenceListener = differenceListener;
+        this.maxDifferences = maxDifferences;
+        this.maxDifferencesPerArray = maxDifferencesPerArray;
+        this.differenceGroupExamples = differenceGroupExamples;
+        this.maxMessageLength = maxMessageLength;
+        this.maxDifferenceLength = maxDifferenceLength;
+        this.maxDifferenceArrayElements = maxDifferenceArrayElements;
+        this.maxDifferenceDepth = maxDifferenceDepth;
     }
 
     /**
@@ -80,7 +95,7 @@ public class Configuration {
      * @return
      */
     public Configuration withTolerance(BigDecimal tolerance) {
-        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
     }
 
     /**
@@ -112,7 +127,7 @@ public class Configuration {
      * @return
      */
     public Configuration withOptions(Option first, Option... next) {
-        return new Configuration(tolerance, options.with(first, next), ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions);
+        return new Configuration(tolerance, options.with(first, next), ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
     }
 
     /**
@@ -122,7 +137,7 @@ public class Configuration {
      * @return
      */
     public Configuration withOptions(Options options) {
-        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
     }
 
     /**
@@ -148,11 +163,11 @@ public class Configuration {
     }
 
     public Configuration withPathOptions(List<PathOption> pathOptions) {
-        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, Collections.unmodifiableList(new ArrayList<>(pathOptions)));
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, Collections.unmodifiableList(new ArrayList<>(pathOptions)), maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
     }
 
     public Configuration whenIgnoringPaths(Collection<String> pathsToBeIgnored) {
-        return new Configuration(tolerance, options, ignorePlaceholder, matchers, Collections.unmodifiableSet(new HashSet<>(pathsToBeIgnored)), differenceListener, pathOptions);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, Collections.unmodifiableSet(new HashSet<>(pathsToBeIgnored)), differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
     }
 
     /**
@@ -175,7 +190,7 @@ public class Configuration {
      * @return
      */
     public Configuration withIgnorePlaceholder(String ignorePlaceholder) {
-        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
     }
 
     /**
@@ -186,14 +201,106 @@ public class Configuration {
      * @return
      */
     public Configuration withMatcher(String matcherName, Matcher<?> matcher) {
-        return new Configuration(tolerance, options, ignorePlaceholder, matchers.with(matcherName, matcher), pathsToBeIgnored, differenceListener, pathOptions);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers.with(matcherName, matcher), pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
     }
 
     /**
      * Sets difference listener
      */
     public Configuration withDifferenceListener(DifferenceListener differenceListener) {
-        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
+    }
+
+    /**
+     * Sets maximal number of recorded differences. Once the limit is reached, the comparison stops
+     * and a note about the remaining differences is added. Difference listeners that return true from
+     * {@link DifferenceListener#receivesAllDifferences()} still get all the differences.
+     *
+     * @param maxDifferences
+     * @return
+     */
+    public Configuration withMaxDifferences(int maxDifferences) {
+        checkLimit(maxDifferences);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
+    }
+
+    /**
+     * Sets maximal number of recorded differences in one array. Once the limit is reached,
+     * remaining array elements are not compared and a note about them is added.
+     *
+     * @param maxDifferencesPerArray
+     * @return
+     */
+    public Configuration withMaxDifferencesPerArray(int maxDifferencesPerArray) {
+        checkLimit(maxDifferencesPerArray);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
+    }
+
+    /**
+     * Groups differences in the failure message. Differences of the same kind in paths that differ only in array indexes,
+     * like "items[1].price" and "items[2].price", are grouped together. Only first examplesPerGroup differences of each group
+     * are printed, the rest is summarized by count and most common values.
+     *
+     * @param examplesPerGroup
+     * @return
+     */
+    public Configuration withDifferenceGrouping(int examplesPerGroup) {
+        checkLimit(examplesPerGroup);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, examplesPerGroup, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
+    }
+
+    /**
+     * Sets maximal length of the failure message. Once the message is longer, remaining differences
+     * are only counted. Not limited by default.
+     *
+     * @param maxMessageLength
+     * @return
+     */
+    public Configuration withMaxMessageLength(int maxMessageLength) {
+        checkLimit(maxMessageLength);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
+    }
+
+    /**
+     * Sets maximal length of one difference message and of expected and actual values kept in the exception.
+     * Longer values are truncated. Not limited by default.
+     *
+     * @param maxDifferenceLength
+     * @return
+     */
+    public Configuration withMaxDifferenceLength(int maxDifferenceLength) {
+        checkLimit(maxDifferenceLength);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
+    }
+
+    /**
+     * Sets maximal number of array elements rendered in one difference message and in expected and actual values
+     * kept in the exception. Remaining elements are only counted. Not limited by default.
+     *
+     * @param maxDifferenceArrayElements
+     * @return
+     */
+    public Configuration withMaxDifferenceArrayElements(int maxDifferenceArrayElements) {
+        checkLimit(maxDifferenceArrayElements);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
+    }
+
+    /**
+     * Sets maximal depth of values rendered in one difference message and in expected and actual values
+     * kept in the exception. Deeper objects and arrays are replaced by a placeholder. Not limited by default.
+     *
+     * @param maxDifferenceDepth
+     * @return
+     */
+    public Configuration withMaxDifferenceDepth(int maxDifferenceDepth) {
+        checkLimit(maxDifferenceDepth);
+        return new Configuration(tolerance, options, ignorePlaceholder, matchers, pathsToBeIgnored, differenceListener, pathOptions, maxDifferences, maxDifferencesPerArray, differenceGroupExamples, maxMessageLength, maxDifferenceLength, maxDifferenceArrayElements, maxDifferenceDepth);
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit has to be positive");
+        }
     }
 
     public static DifferenceListener dummyDifferenceListener() {
@@ -228,6 +335,34 @@ public class Configuration {
         return differenceListener;
     }
 
+    public int getMaxDifferences() {
+        return maxDifferences;
+    }
+
+    public int getMaxDifferencesPerArray() {
+        return maxDifferencesPerArray;
+    }
+
+    public int getDifferenceGroupExamples() {
+        return differenceGroupExamples;
+    }
+
+    public int getMaxMessageLength() {
+        return maxMessageLength;
+    }
+
+    public int getMaxDifferenceLength() {
+        return maxDifferenceLength;
+    }
+
+    public int getMaxDifferenceArrayElements() {
+        return maxDifferenceArrayElements;
+    }
+
+    public int getMaxDifferenceDepth() {
+        return maxDifferenceDepth;
+    }
+
     public boolean shouldIgnore(String expectedValue) {
         if (DEFAULT_IGNORE_PLACEHOLDER.equals(ignorePlaceholder)) {
             // special handling of default state. We want to support both # and $ before {json-unit.ignore} but do not want to
@@ -47,6 +47,9 @@ package net.javacrumbs.jsonunit.core;
  *
  *   </code>
  * </pre>
+ *
+ * The parameter is set on the instance stored in the configuration, so the configuration should not be shared
+ * by comparisons running in parallel. Implement {@link ParametrizedMatcherFactory} if it has to be.
  */
 public interface ParametrizedMatcher {
     void setParameter(String parameter);
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core;
+
+import org.hamcrest.Matcher;
+
+/**
+ * Implement this interface to use with parametrized matchers that are safe to be used by comparisons running
+ * in parallel. Instead of setting the parameter on the shared instance like {@link ParametrizedMatcher},
+ * a new matcher bound to the parameter is created for each comparison. Sample usage
+ *
+ * <pre>
+ *     <code>
+ *
+ *     assertJsonEquals("{\"test\": \"${json-unit.matches:isDivisibleBy}3\"}", "{\"test\":6}", JsonAssert.withMatcher("isDivisibleBy", new DivisionMatcher(null)));
+ *
+ *     private static class DivisionMatcher extends BaseMatcher&lt;Object&gt; implements ParametrizedMatcherFactory {
+ *       private final BigDecimal param;
+ *
+ *       ...
+ *
+ *       public Matcher&lt;?&gt; withParameter(String parameter) {
+ *           return new DivisionMatcher(new BigDecimal(parameter));
+ *       }
+ *   }
+ *   </code>
+ * </pre>
+ *
+ * The object registered in the configuration has to be a {@link Matcher}. If it implements both interfaces,
+ * {@link #withParameter(String)} is used.
+ */
+public interface ParametrizedMatcherFactory {
+    /**
+     * Returns matcher bound to the parameter. The parameter is empty if the placeholder does not specify it.
+     */
+    Matcher<?> withParameter(String parameter);
+}
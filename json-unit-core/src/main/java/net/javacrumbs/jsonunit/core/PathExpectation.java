@@ -0,0 +1,142 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core;
+
+import org.hamcrest.Matcher;
+
+/**
+ * Expectation about a node used when checking multiple paths at once. Sample usage
+ *
+ * <pre>
+ *     <code>
+ *     Map&lt;String, Object&gt; expectations = new LinkedHashMap&lt;&gt;();
+ *     expectations.put("a", 1);
+ *     expectations.put("b.c", PathExpectation.isString());
+ *     expectations.put("b.d", PathExpectation.isAbsent());
+ *     expectations.put("e[0]", greaterThan(BigDecimal.ONE));
+ *     assertThatJson(json).hasPaths(expectations);
+ *     </code>
+ * </pre>
+ *
+ * Values that are not a PathExpectation are compared for equality, Hamcrest matchers are matched.
+ */
+public final class PathExpectation {
+    /**
+     * Kind of the expectation.
+     */
+    public enum Type {EQUAL_TO, STRING_EQUAL_TO, MATCHES, PRESENT, ABSENT, NULL, NOT_NULL, OBJECT, ARRAY, STRING, NUMBER, BOOLEAN}
+
+    private final String description;
+    private final Type type;
+    private final Object expected;
+
+    private PathExpectation(String description, Type type, Object expected) {
+        this.description = description;
+        this.type = type;
+        this.expected = expected;
+    }
+
+    private PathExpectation(String description, Type type) {
+        this(description, type, null);
+    }
+
+    /**
+     * Converts value to an expectation. PathExpectations are returned as they are, Hamcrest matchers
+     * are matched against the node, any other value is compared for equality.
+     */
+    public static PathExpectation of(Object expected) {
+        if (expected instanceof PathExpectation) {
+            return (PathExpectation) expected;
+        } else if (expected instanceof Matcher) {
+            return matches((Matcher<?>) expected);
+        } else {
+            return isEqualTo(expected);
+        }
+    }
+
+    /**
+     * Node is equal to the expected value. The value is converted to JSON.
+     */
+    public static PathExpectation isEqualTo(Object expected) {
+        return new PathExpectation("equal to " + expected, Type.EQUAL_TO, expected);
+    }
+
+    /**
+     * Node is a String equal to the expected value.
+     */
+    public static PathExpectation isStringEqualTo(String expected) {
+        return new PathExpectation("string equal to " + expected, Type.STRING_EQUAL_TO, expected);
+    }
+
+    /**
+     * Node matches the Hamcrest matcher. The value is converted the same way as when a matcher is used in a single assertion.
+     */
+    public static PathExpectation matches(Matcher<?> matcher) {
+        return new PathExpectation("matching " + matcher, Type.MATCHES, matcher);
+    }
+
+    public static PathExpectation isPresent() {
+        return new PathExpectation("present", Type.PRESENT);
+    }
+
+    public static PathExpectation isAbsent() {
+        return new PathExpectation("absent", Type.ABSENT);
+    }
+
+    public static PathExpectation isNull() {
+        return new PathExpectation("null", Type.NULL);
+    }
+
+    public static PathExpectation isNotNull() {
+        return new PathExpectation("not null", Type.NOT_NULL);
+    }
+
+    public static PathExpectation isObject() {
+        return new PathExpectation("an object", Type.OBJECT);
+    }
+
+    public static PathExpectation isArray() {
+        return new PathExpectation("an array", Type.ARRAY);
+    }
+
+    public static PathExpectation isString() {
+        return new PathExpectation("a string", Type.STRING);
+    }
+
+    public static PathExpectation isNumber() {
+        return new PathExpectation("a number", Type.NUMBER);
+    }
+
+    public static PathExpectation isBoolean() {
+        return new PathExpectation("a boolean", Type.BOOLEAN);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Expected value, expected String or Hamcrest matcher, null for expectations without a value.
+     */
+    public Object getExpected() {
+        return expected;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
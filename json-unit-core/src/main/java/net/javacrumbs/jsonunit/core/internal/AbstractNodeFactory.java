@@ -23,6 +23,19 @@ import java.math.BigDecimal;
  * Common superclass for node factories
  */
 abstract class AbstractNodeFactory implements NodeFactory {
+    @Override
+    public final boolean isPreferredFor(Object source) {
+        return source != null && isPreferredFor(source.getClass());
+    }
+
+    @Override
+    public abstract boolean isPreferredFor(Class<?> sourceClass);
+
+    @Override
+    public final boolean isPreferenceByClass() {
+        return true;
+    }
+
     public Node convertToNode(Object source, String label, boolean lenient) {
         if (source == null) {
             return nullNode();
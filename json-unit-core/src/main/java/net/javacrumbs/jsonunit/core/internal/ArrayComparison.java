@@ -15,8 +15,6 @@
  */
 package net.javacrumbs.jsonunit.core.internal;
 
-import net.javacrumbs.jsonunit.core.Configuration;
-
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -25,8 +23,8 @@ class ArrayComparison {
     private final List<Node> actualElements;
     private final List<Node> expectedElements;
 
-    ArrayComparison(List<Node> expectedElements, List<Node> actualElements, Path path, Configuration configuration) {
-        comparisonMatrix = new ComparisonMatrix(expectedElements, actualElements, path, configuration);
+    ArrayComparison(List<Node> expectedElements, List<Node> actualElements, Path path, Diff parent) {
+        comparisonMatrix = new ComparisonMatrix(expectedElements, actualElements, path, parent);
         this.actualElements = actualElements;
         this.expectedElements = expectedElements;
     }
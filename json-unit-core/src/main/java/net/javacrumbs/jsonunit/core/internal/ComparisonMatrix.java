@@ -25,8 +25,6 @@ import static java.lang.Math.min;
 import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Collectors.toList;
 import static net.javacrumbs.jsonunit.core.Configuration.dummyDifferenceListener;
-import static net.javacrumbs.jsonunit.core.internal.Diff.DEFAULT_DIFFERENCE_STRING;
-import static net.javacrumbs.jsonunit.core.internal.JsonUnitLogger.NULL_LOGGER;
 
 /**
  * Stores comparison result when comparing two arrays.
@@ -52,11 +50,12 @@ class ComparisonMatrix {
         this.actualElements = actualElements;
     }
 
-    ComparisonMatrix(List<Node> expectedElements, List<Node> actualElements, Path path, Configuration configuration) {
-        this(generateEqualElements(expectedElements, actualElements, path, configuration), 0, new Integer[expectedElements.size()], new ArrayList<>(), new BitSet(), expectedElements, actualElements);
+    ComparisonMatrix(List<Node> expectedElements, List<Node> actualElements, Path path, Diff parent) {
+        this(generateEqualElements(expectedElements, actualElements, path, parent), 0, new Integer[expectedElements.size()], new ArrayList<>(), new BitSet(), expectedElements, actualElements);
     }
 
-    private static List<List<Integer>> generateEqualElements(List<Node> expectedElements, List<Node> actualElements, Path path, Configuration configuration) {
+    private static List<List<Integer>> generateEqualElements(List<Node> expectedElements, List<Node> actualElements, Path path, Diff parent) {
+        Configuration configuration = parent.getConfiguration().withDifferenceListener(dummyDifferenceListener());
         List<List<Integer>> equalElements = new ArrayList<>(actualElements.size());
 
         // Compare all elements
@@ -66,7 +65,7 @@ class ComparisonMatrix {
 
             for (int j = 0; j < expectedElements.size(); j++) {
                 Node expected = expectedElements.get(j);
-                Diff diff = new Diff(expected, actual, Path.create("", path.toElement(i).getFullPath()), configuration.withDifferenceListener(dummyDifferenceListener()), NULL_LOGGER, NULL_LOGGER, DEFAULT_DIFFERENCE_STRING);
+                Diff diff = parent.forArrayElement(expected, actual, path.toElement(i), configuration);
                 if (diff.similar()) {
                     actualIsEqualTo.add(j);
                 }
@@ -15,8 +15,11 @@
  */
 package net.javacrumbs.jsonunit.core.internal;
 
+import net.javacrumbs.jsonunit.providers.JsonValueConverter;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.ServiceLoader;
 
 import static net.javacrumbs.jsonunit.core.internal.ClassUtils.isClassPresent;
 
@@ -28,6 +31,21 @@ class Converter {
 
     private final List<NodeFactory> factories;
 
+    /**
+     * True if all the factories decide based on the class of the value.
+     */
+    private final boolean preferenceByClass;
+
+    /**
+     * Factory to be used for given class. Factories are asked only once per class.
+     */
+    private final ClassValue<NodeFactory> factoryForClass = new ClassValue<NodeFactory>() {
+        @Override
+        protected NodeFactory computeValue(Class<?> type) {
+            return findFactory(type);
+        }
+    };
+
     private static final boolean jackson2Present =
         isClassPresent("com.fasterxml.jackson.databind.ObjectMapper") &&
             isClassPresent("com.fasterxml.jackson.core.JsonGenerator");
@@ -49,6 +67,7 @@ class Converter {
             throw new IllegalStateException("List of factories can not be empty");
         }
         this.factories = factories;
+        this.preferenceByClass = factories.stream().allMatch(NodeFactory::isPreferenceByClass);
     }
 
     /**
@@ -59,9 +78,15 @@ class Converter {
         String property = System.getProperty(LIBRARIES_PROPERTY_NAME);
 
         if (property != null && property.trim().length() > 0) {
+            // only the libraries specified in the property are used
             factories = createFactoriesSpecifiedInProperty(property);
         } else {
             factories = createDefaultFactories();
+            if (!factories.isEmpty()) {
+                // converters registered by ServiceLoader handle their own types so they take precedence,
+                // the last factory handling all the other values is always one of the libraries
+                factories.addAll(0, loadRegisteredFactories());
+            }
         }
 
         if (factories.isEmpty()) {
@@ -92,6 +117,14 @@ class Converter {
         return factories;
     }
 
+    private static List<NodeFactory> loadRegisteredFactories() {
+        List<NodeFactory> factories = new ArrayList<>();
+        for (JsonValueConverter converter : ServiceLoader.load(JsonValueConverter.class, Converter.class.getClassLoader())) {
+            factories.add(new JsonValueConverterNodeFactory(converter));
+        }
+        return factories;
+    }
+
     private static List<NodeFactory> createDefaultFactories() {
         List<NodeFactory> factories = new ArrayList<>();
         if (moshiPresent) {
@@ -117,25 +150,47 @@ class Converter {
     }
 
     Node convertToNode(Object source, String label, boolean lenient) {
+        return getFactory(source).convertToNode(source, label, lenient);
+    }
+
+    Node valueToNode(Object source) {
+        return getFactory(source).valueToNode(source);
+    }
+
+    private NodeFactory getFactory(Object source) {
+        if (source == null) {
+            return getLastFactory();
+        } else if (preferenceByClass) {
+            return factoryForClass.get(source.getClass());
+        } else {
+            return findFactory(source);
+        }
+    }
+
+    private NodeFactory findFactory(Class<?> type) {
         for (int i = 0; i < factories.size(); i++) {
             NodeFactory factory = factories.get(i);
-            if (isLastFactory(i) || factory.isPreferredFor(source)) {
-                return factory.convertToNode(source, label, lenient);
+            if (isLastFactory(i) || factory.isPreferredFor(type)) {
+                return factory;
             }
         }
         throw new IllegalStateException("Should not happen");
     }
 
-    Node valueToNode(Object source) {
+    private NodeFactory findFactory(Object source) {
         for (int i = 0; i < factories.size(); i++) {
             NodeFactory factory = factories.get(i);
             if (isLastFactory(i) || factory.isPreferredFor(source)) {
-                return factory.valueToNode(source);
+                return factory;
             }
         }
         throw new IllegalStateException("Should not happen");
     }
 
+    private NodeFactory getLastFactory() {
+        return factories.get(factories.size() - 1);
+    }
+
     private boolean isLastFactory(int i) {
         return factories.size() - 1 == i;
     }
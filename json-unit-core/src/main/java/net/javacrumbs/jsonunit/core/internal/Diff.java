@@ -19,22 +19,31 @@ import net.javacrumbs.jsonunit.core.Configuration;
 import net.javacrumbs.jsonunit.core.Option;
 import net.javacrumbs.jsonunit.core.internal.ArrayComparison.ComparisonResult;
 import net.javacrumbs.jsonunit.core.internal.ArrayComparison.NodeWithIndex;
+import net.javacrumbs.jsonunit.core.internal.JsonPathExpression.NodePath;
+import net.javacrumbs.jsonunit.core.listener.DiffReport;
+import net.javacrumbs.jsonunit.core.listener.DiffStatistics;
 import net.javacrumbs.jsonunit.core.listener.Difference;
 
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Collections.emptySet;
 import static net.javacrumbs.jsonunit.core.Option.COMPARING_ONLY_STRUCTURE;
@@ -48,9 +57,8 @@ import static net.javacrumbs.jsonunit.core.internal.DifferenceContextImpl.differ
 import static net.javacrumbs.jsonunit.core.internal.ExceptionUtils.createException;
 import static net.javacrumbs.jsonunit.core.internal.ExceptionUtils.formatDifferences;
 import static net.javacrumbs.jsonunit.core.internal.JsonUnitLogger.NULL_LOGGER;
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertExpectedToJson;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
-import static net.javacrumbs.jsonunit.core.internal.JsonUtils.prettyPrint;
-import static net.javacrumbs.jsonunit.core.internal.JsonUtils.quoteIfNeeded;
 import static net.javacrumbs.jsonunit.core.internal.Node.KeyValue;
 import static net.javacrumbs.jsonunit.core.internal.Node.NodeType;
 
@@ -75,12 +83,35 @@ public class Diff {
 
     private final Node expectedRoot;
     private final Node actualRoot;
-    private final Differences differences = new Differences();
+
+    /**
+     * Actual node the comparison starts at, resolved from the actual root if null.
+     */
+    private final Node actualStart;
+
+    /**
+     * Actual document the paths of compared nodes are resolved from by path matchers. It is the actual root,
+     * except when array elements are compared separately, then it is the document containing the array.
+     */
+    private final Node document;
+    private final Differences differences;
     private final Path startPath;
     private boolean compared = false;
+    private Context rootContext;
+    private final Deque<Step> pendingSteps = new ArrayDeque<>();
+    private Deque<Difference> pulledDifferences;
+    private final List<Difference> reportedDifferences = new ArrayList<>();
+    private boolean stopped = false;
+    private int suppressing = 0;
+    private StatisticsCollector statistics;
+    private int suppressedDifferences = 0;
+    private Path lastComparedPath;
+    private String lastRegex;
+    private Pattern lastPattern;
     private final Configuration configuration;
     private final PathMatcher pathsToBeIgnored;
     private final Map<Option, List<PathOptionMatcher>> specificPathOptions;
+    private NodePath lastNodePath;
 
     private final JsonUnitLogger diffLogger;
     private final JsonUnitLogger valuesLogger;
@@ -89,8 +120,11 @@ public class Diff {
     Diff(Node expected, Node actual, Path startPath, Configuration configuration, JsonUnitLogger diffLogger, JsonUnitLogger valuesLogger, String differenceString) {
         this.expectedRoot = expected;
         this.actualRoot = actual;
+        this.actualStart = null;
+        this.document = actual;
         this.startPath = startPath;
         this.configuration = configuration;
+        this.differences = new Differences(configuration.getDifferenceGroupExamples());
         this.diffLogger = diffLogger;
         this.valuesLogger = valuesLogger;
         this.pathsToBeIgnored = PathMatcher.create(configuration.getPathsToBeIgnored());
@@ -99,6 +133,29 @@ public class Diff {
         this.differenceString = differenceString;
     }
 
+    private Diff(Node expected, Node actual, Path elementPath, Configuration configuration, Diff parent) {
+        this.expectedRoot = expected;
+        this.actualRoot = actual;
+        this.actualStart = actual;
+        this.document = parent.document;
+        this.startPath = elementPath;
+        this.configuration = configuration;
+        this.differences = new Differences(configuration.getDifferenceGroupExamples());
+        this.diffLogger = NULL_LOGGER;
+        this.valuesLogger = NULL_LOGGER;
+        this.pathsToBeIgnored = parent.pathsToBeIgnored;
+        this.specificPathOptions = parent.specificPathOptions;
+        this.differenceString = DEFAULT_DIFFERENCE_STRING;
+    }
+
+    /**
+     * Compares one element of an array compared with IGNORING_ARRAY_ORDER. Path matchers are shared with this
+     * comparison and match paths against the same document, so negative indexes and filters see the whole array.
+     */
+    Diff forArrayElement(Node expected, Node actual, Path elementPath, Configuration configuration) {
+        return new Diff(expected, actual, elementPath, configuration, this);
+    }
+
     public static Diff create(Object expected, Object actual, String actualName, String path, Configuration configuration) {
         if (actual instanceof JsonSource) {
             return create(expected, actual, actualName, Path.create(path, ((JsonSource) actual).getPathPrefix()), configuration);
@@ -112,17 +169,59 @@ public class Diff {
     }
 
     public static Diff createInternal(Object expected, Object actual, String actualName, Path path, Configuration configuration, String differenceString) {
-        return new Diff(convertToJson(quoteIfNeeded(expected), "expected", true), convertToJson(actual, actualName, false), path, configuration, DEFAULT_DIFF_LOGGER, DEFAULT_VALUE_LOGGER, differenceString);
+        return new Diff(convertExpectedToJson(expected), convertToJson(actual, actualName, false), path, configuration, DEFAULT_DIFF_LOGGER, DEFAULT_VALUE_LOGGER, differenceString);
     }
 
     private void compare() {
         if (!compared) {
-            Node part = startPath.getNode(actualRoot);
-            Context context = new Context(expectedRoot, part, startPath, startPath, configuration);
+            start();
+            while (advance()) {
+                // keep comparing
+            }
+            finish();
+        }
+    }
+
+    /**
+     * Compares the root. Nested nodes are not compared directly, they are scheduled as steps so the
+     * comparison can be done incrementally.
+     */
+    private void start() {
+        if (rootContext == null) {
+            Node part = getActualStart();
+            rootContext = new Context(expectedRoot, part, startPath, startPath, configuration);
             if (part.isMissingNode()) {
-                structureDifferenceFound(context, "Missing node in path \"%s\".", startPath);
+                structureDifferenceFound(rootContext, "Missing node in path \"%s\".", startPath);
             } else {
-                compareNodes(context);
+                compareNodes(rootContext);
+            }
+        }
+    }
+
+    private Node getActualStart() {
+        return actualStart != null ? actualStart : startPath.getNode(actualRoot);
+    }
+
+    /**
+     * Does one step of the comparison. Returns false if there is nothing left to compare.
+     */
+    private boolean advance() {
+        Step step = pendingSteps.peek();
+        if (step == null) {
+            return false;
+        }
+        if (step.hasNext()) {
+            step.next();
+        } else {
+            pendingSteps.pop();
+        }
+        return true;
+    }
+
+    private void finish() {
+        if (!compared) {
+            if (statistics == null) {
+                addOverflowNote(rootContext);
             }
             compared = true;
 
@@ -130,6 +229,20 @@ public class Diff {
         }
     }
 
+    private void schedule(Step step) {
+        pendingSteps.push(step);
+    }
+
+    /**
+     * Part of the comparison. Steps are processed depth first, nested steps scheduled by {@link #next()}
+     * are processed before the next call of this step.
+     */
+    private interface Step {
+        boolean hasNext();
+
+        void next();
+    }
+
     /**
      * Compares object nodes.
      */
@@ -169,24 +282,46 @@ public class Diff {
             }
         }
 
-        for (String fieldName : commonFields(expectedFields, actualFields)) {
-            compareNodes(context.inField(fieldName));
-        }
+        Iterator<String> fieldNames = commonFields(expectedFields, actualFields).iterator();
+        schedule(new Step() {
+            @Override
+            public boolean hasNext() {
+                return fieldNames.hasNext();
+            }
+
+            @Override
+            public void next() {
+                compareNodes(context.inField(fieldNames.next()));
+            }
+        });
     }
 
     private void removeMissingIgnoredElements(Node expected, Set<String> missingKeys) {
         missingKeys.removeIf(missingKey -> shouldIgnoreElement(expected.get(missingKey)));
     }
 
-    @SuppressWarnings("unchecked")
-    private String normalize(Node node) {
-        Map<String, Object> map = (Map<String, Object>) node.getValue();
-        return prettyPrint(new TreeMap<>(map));
+    private Object normalize(Node node) {
+        return NodeRenderer.sorted(node, configuration);
+    }
+
+    private Object compact(Object value) {
+        return NodeRenderer.compact(value, configuration);
     }
 
     private void reportDifference(Difference difference) {
+        if (limitReached() && !receivesAllDifferences()) {
+            return;
+        }
         configuration.getDifferenceListener().diff(difference,
                 differenceContext(configuration, actualRoot, expectedRoot));
+        if (statistics != null) {
+            statistics.difference(difference.getType(), ((DifferenceImpl) difference).getContext());
+        } else {
+            reportedDifferences.add(difference);
+        }
+        if (pulledDifferences != null) {
+            pulledDifferences.add(difference);
+        }
     }
 
     private void removePathsToBeIgnored(Path path, Set<String> extraKeys) {
@@ -245,7 +380,7 @@ public class Diff {
         boolean hasOption = configuration.getOptions().contains(option);
         if (specificPathOptions.containsKey(option)) {
             for (PathOptionMatcher matcher : specificPathOptions.get(option)) {
-                if (matcher.matches(path.getFullPath())) {
+                if (matcher.matches(nodePath(path))) {
                     hasOption = matcher.isAdded();
                 }
             }
@@ -274,6 +409,12 @@ public class Diff {
             return;
         }
 
+        if (limitReached() && !receivesAllDifferences()) {
+            stopped = true;
+            return;
+        }
+        lastComparedPath = context.getActualPath();
+
         Node expectedNode = context.getExpectedNode();
         Node actualNode = context.getActualNode();
 
@@ -291,6 +432,10 @@ public class Diff {
             return;
         }
 
+        if (statistics != null && StatisticsCollector.isLeaf(expectedNode)) {
+            statistics.leafCompared();
+        }
+
         // Any number
         if (checkAny(NodeType.NUMBER, ANY_NUMBER_PLACEHOLDER, "a number", context)) {
             return;
@@ -311,7 +456,7 @@ public class Diff {
         }
 
         if (!expectedNodeType.equals(actualNodeType)) {
-            reportValueDifference(context, "Different value found in node \"%s\", " + differenceString() + ".", fieldPath, quoteTextValue(expectedNode), quoteTextValue(actualNode));
+            reportValueDifference(context, "Different value found in node \"%s\", " + differenceString() + ".", fieldPath, compact(expectedNode), compact(actualNode));
         } else {
             switch (expectedNodeType) {
                 case OBJECT:
@@ -353,7 +498,18 @@ public class Diff {
     }
 
     private boolean shouldIgnorePath(Path fieldPath) {
-        return pathsToBeIgnored.matches(fieldPath.getFullPath());
+        return pathsToBeIgnored.matches(nodePath(fieldPath));
+    }
+
+    /**
+     * Path of a node used by path matchers. The path is split only once, even if it is matched
+     * against multiple options. Nodes in the path prefix are not available.
+     */
+    private NodePath nodePath(Path path) {
+        if (lastNodePath == null || lastNodePath.getPath() != path) {
+            lastNodePath = new NodePath(path, document);
+        }
+        return lastNodePath;
     }
 
     private boolean checkMatcher(Context context) {
@@ -387,6 +543,18 @@ public class Diff {
         return false;
     }
 
+    /**
+     * Array elements usually share the same pattern, the last one is kept so the shared cache is not queried
+     * for each element.
+     */
+    private Pattern compilePattern(String regex) {
+        if (!regex.equals(lastRegex)) {
+            lastPattern = PatternCache.compile(regex);
+            lastRegex = regex;
+        }
+        return lastPattern;
+    }
+
     private void compareStringValues(Context context) {
         String expectedValue = context.getExpectedNode().asText();
         String actualValue = context.getActualNode().asText();
@@ -398,7 +566,7 @@ public class Diff {
         Matcher regexpMatcher = REGEX_PLACEHOLDER.matcher(expectedValue);
         if (regexpMatcher.matches()) {
             String pattern = regexpMatcher.group(1);
-            if (!actualValue.matches(pattern)) {
+            if (!compilePattern(pattern).matcher(actualValue).matches()) {
                 reportValueDifference(context, "Different value found in node \"%s\". Pattern %s did not match %s.", path, quoteTextValue(pattern), quoteTextValue(actualValue));
             }
         } else {
@@ -474,25 +642,100 @@ public class Diff {
                 reportMissingValues(context, missingValues);
                 reportExtraValues(context, extraValues);
 
-                valueDifferenceFound(context, "Array \"%s\" has different content. Missing values: %s, extra values: %s, expected: <%s> but was: <%s>", path, missingValues, extraValues, expectedNode, actualNode);
+                valueDifferenceFound(context, "Array \"%s\" has different content. Missing values: %s, extra values: %s, expected: <%s> but was: <%s>", path, compact(missingValues), compact(extraValues), compact(expectedNode), compact(actualNode));
             } else if (!missingValues.isEmpty()) {
                 reportMissingValues(context, missingValues);
-                valueDifferenceFound(context, "Array \"%s\" has different content. Missing values: %s, expected: <%s> but was: <%s>", path, missingValues, expectedNode, actualNode);
+                valueDifferenceFound(context, "Array \"%s\" has different content. Missing values: %s, expected: <%s> but was: <%s>", path, compact(missingValues), compact(expectedNode), compact(actualNode));
+            }
+            if (statistics != null) {
+                countMatchedElements(expectedElements, missingValues);
             }
         } else {
             if (expectedElements.size() > actualElements.size()) {
                 for (int i = actualElements.size(); i < expectedElements.size(); i++) {
                     reportDifference(DifferenceImpl.missing(context.missingElement(i)));
                 }
-                valueDifferenceFound(context, "Array \"%s\" has different content. Missing values: %s, expected: <%s> but was: <%s>", path, expectedElements.subList(actualElements.size(), expectedElements.size()), expectedNode, actualNode);
+                valueDifferenceFound(context, "Array \"%s\" has different content. Missing values: %s, expected: <%s> but was: <%s>", path, compact(expectedElements.subList(actualElements.size(), expectedElements.size())), compact(expectedNode), compact(actualNode));
             } else if (failOnExtraArrayItems(context.getActualPath()) && expectedElements.size() < actualElements.size()) {
                 for (int i = expectedElements.size(); i < actualElements.size(); i++) {
                     reportDifference(DifferenceImpl.extra(context.extraElement(i)));
                 }
-                valueDifferenceFound(context, "Array \"%s\" has different content. Extra values: %s, expected: <%s> but was: <%s>", path, actualElements.subList(expectedElements.size(), actualElements.size()), expectedNode, actualNode);
+                valueDifferenceFound(context, "Array \"%s\" has different content. Extra values: %s, expected: <%s> but was: <%s>", path, compact(actualElements.subList(expectedElements.size(), actualElements.size())), compact(expectedNode), compact(actualNode));
             }
-            for (int i = 0; i < Math.min(expectedElements.size(), actualElements.size()); i++) {
-                compareNodes(context.toElement(i));
+            compareArrayElements(context, Math.min(expectedElements.size(), actualElements.size()));
+        }
+    }
+
+    private void compareArrayElements(Context context, int count) {
+        schedule(new ArrayElementsStep(context, count));
+    }
+
+    /**
+     * Compares array elements, stops or only counts the differences if there are too many of them.
+     */
+    private class ArrayElementsStep implements Step {
+        private final Context context;
+        private final int arraySize;
+        private final int count;
+        private final int differencesBefore = differences.size() + suppressedDifferences;
+        private int index = 0;
+        private boolean countingOnly = false;
+        private int suppressedBefore;
+        private boolean done = false;
+
+        private ArrayElementsStep(Context context, int count) {
+            this.context = context;
+            this.arraySize = count;
+            this.count = statistics != null ? statistics.sampleSize(count) : count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !done;
+        }
+
+        @Override
+        public void next() {
+            if (statistics == null && !countingOnly && index < count && differences.size() + suppressedDifferences - differencesBefore >= configuration.getMaxDifferencesPerArray()) {
+                if (receivesAllDifferences()) {
+                    // the listener wants to know about all the differences, we have to compare the rest but we only count them
+                    suppressedBefore = suppressedDifferences;
+                    suppressing++;
+                    countingOnly = true;
+                } else {
+                    if (suppressing == 0) {
+                        differences.add(context, "Array \"%s\" has too many differences, remaining %d elements were not compared.", context.getActualPath(), count - index);
+                    }
+                    done = true;
+                    return;
+                }
+            }
+            if (index < count) {
+                int elementIndex = count == arraySize ? index : StatisticsCollector.sampledIndex(index, count, arraySize);
+                index++;
+                compareNodes(context.toElement(elementIndex));
+                return;
+            }
+            if (countingOnly) {
+                suppressing--;
+                int moreDifferences = suppressedDifferences - suppressedBefore;
+                if (moreDifferences > 0 && suppressing == 0) {
+                    suppressedDifferences = suppressedBefore;
+                    differences.add(context, "Array \"%s\" has %d more differences.", context.getActualPath(), moreDifferences);
+                }
+            }
+            done = true;
+        }
+    }
+
+    /**
+     * Elements matched when ignoring array order are not compared again, we have to count them as equal.
+     */
+    private void countMatchedElements(List<Node> expectedElements, List<NodeWithIndex> missingValues) {
+        Set<Integer> missingIndexes = missingValues.stream().map(NodeWithIndex::getIndex).collect(Collectors.toSet());
+        for (int i = 0; i < expectedElements.size(); i++) {
+            if (!missingIndexes.contains(i)) {
+                statistics.equalSubtree(expectedElements.get(i));
             }
         }
     }
@@ -510,7 +753,7 @@ public class Diff {
     }
 
     private ComparisonResult compareArraysIgnoringOrder(List<Node> expectedElements, List<Node> actualElements, Path path) {
-        return new ArrayComparison(expectedElements, actualElements, path, configuration).compareArraysIgnoringOrder();
+        return new ArrayComparison(expectedElements, actualElements, path, this).compareArraysIgnoringOrder();
     }
 
 
@@ -530,12 +773,37 @@ public class Diff {
 
 
     private void structureDifferenceFound(Context context, String message, Object... arguments) {
-        differences.add(new JsonDifference(context, message, arguments));
+        addDifference(context, message, arguments);
     }
 
     private void valueDifferenceFound(Context context, String message, Object... arguments) {
         if (!hasOption(context.getActualPath(), COMPARING_ONLY_STRUCTURE)) {
-            differences.add(new JsonDifference(context, message, arguments));
+            addDifference(context, message, arguments);
+        }
+    }
+
+    private void addDifference(Context context, String message, Object... arguments) {
+        if (suppressing > 0 || limitReached()) {
+            suppressedDifferences++;
+        } else {
+            differences.add(context, message, arguments);
+        }
+    }
+
+    private boolean limitReached() {
+        return differences.size() >= configuration.getMaxDifferences();
+    }
+
+    private boolean receivesAllDifferences() {
+        return configuration.getDifferenceListener().receivesAllDifferences();
+    }
+
+    private void addOverflowNote(Context context) {
+        if (stopped) {
+            differences.add(context, "Comparison stopped after reaching the limit of %d differences, %d differences found so far, last compared node \"%s\".",
+                configuration.getMaxDifferences(), differences.size() + suppressedDifferences, lastComparedPath);
+        } else if (suppressedDifferences > 0) {
+            differences.add(context, "And %d more differences.", suppressedDifferences);
         }
     }
 
@@ -551,9 +819,92 @@ public class Diff {
     }
 
 
+    /**
+     * Returns differences as they are found. The documents are compared incrementally,
+     * only as far as needed to find the next difference. If the iteration is not finished, the rest of the
+     * documents is not compared. Can not be combined with other methods that compare the documents.
+     */
+    public Iterator<Difference> differenceIterator() {
+        if (rootContext != null || pulledDifferences != null) {
+            throw new IllegalStateException("Documents have already been compared.");
+        }
+        pulledDifferences = new ArrayDeque<>();
+        return new Iterator<Difference>() {
+            @Override
+            public boolean hasNext() {
+                while (pulledDifferences.isEmpty() && !compared) {
+                    if (rootContext == null) {
+                        start();
+                    } else if (!advance()) {
+                        finish();
+                    }
+                }
+                return !pulledDifferences.isEmpty();
+            }
+
+            @Override
+            public Difference next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return pulledDifferences.poll();
+            }
+        };
+    }
+
+    /**
+     * Returns differences as they are found. The documents are compared only as far as the stream is consumed,
+     * so short-circuiting operations like {@code findFirst()} or {@code limit()} stop the comparison.
+     *
+     * @see #differenceIterator()
+     */
+    public Stream<Difference> differenceStream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(differenceIterator(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Compares the documents and returns structured report of the differences. If the documents have already
+     * been compared, the differences found by the comparison are reported. Can not be combined with {@link #statistics()}.
+     */
+    public DiffReport report() {
+        if (statistics != null) {
+            throw new IllegalStateException("Only statistics have been collected.");
+        }
+        compare();
+        return DiffReport.create(reportedDifferences);
+    }
+
+    /**
+     * Compares the documents and returns only statistics. Difference messages are not created.
+     * Can not be combined with other methods that compare the documents.
+     */
+    public DiffStatistics statistics() {
+        return statistics(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Compares the documents and returns only statistics. Only a sample of maxArrayElements elements
+     * of larger arrays is compared. The sample is always the same, so the result is deterministic.
+     * Difference messages are not created.
+     * Can not be combined with other methods that compare the documents.
+     */
+    public DiffStatistics statistics(int maxArrayElements) {
+        if (maxArrayElements < 1) {
+            throw new IllegalArgumentException("Limit has to be positive");
+        }
+        if (rootContext != null || pulledDifferences != null) {
+            throw new IllegalStateException("Documents have already been compared.");
+        }
+        statistics = new StatisticsCollector(maxArrayElements);
+        // differences are only counted
+        suppressing++;
+        compare();
+        return statistics.toStatistics();
+    }
+
     public boolean similar() {
         compare();
-        return differences.isEmpty();
+        return differences.isEmpty() && suppressedDifferences == 0;
     }
 
     private void logDifferences() {
@@ -562,7 +913,7 @@ public class Diff {
                 diffLogger.log(getDifferences().trim());
             }
             if (valuesLogger.isEnabled()) {
-                valuesLogger.log("Comparing expected:\n{}\n------------\nwith actual:\n{}\n", expectedRoot, startPath.getNode(actualRoot));
+                valuesLogger.log("Comparing expected:\n{}\n------------\nwith actual:\n{}\n", expectedRoot, getActualStart());
             }
         }
     }
@@ -588,6 +939,10 @@ public class Diff {
         return differences();
     }
 
+    Configuration getConfiguration() {
+        return configuration;
+    }
+
     public String differences() {
         if (similar()) {
             return "JSON documents have the same value.";
@@ -596,7 +951,7 @@ public class Diff {
     }
 
     private String getDifferences() {
-        return formatDifferences("", differences);
+        return formatDifferences("", differences, configuration.getMaxMessageLength());
     }
 
 
@@ -606,7 +961,7 @@ public class Diff {
 
     public void failIfDifferent(String message) {
         if (!similar()) {
-            throw createException(message, differences);
+            throw createException(message, differences, configuration.getMaxMessageLength());
         }
     }
 
@@ -0,0 +1,113 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Differences of the same kind found in paths with the same pattern, for example all
+ * "Different value found" differences in "items[*].price". Only first few differences are kept, the rest
+ * is only counted together with the most common values.
+ */
+class DifferenceGroup {
+    private static final int MAX_VALUE_LENGTH = 40;
+    private static final int MAX_DISTINCT_VALUES = 100;
+    private static final int PRINTED_VALUES = 5;
+
+    private final String pathPattern;
+    private final int maxExamples;
+    private final List<JsonDifference> examples = new ArrayList<>();
+    private final Map<String, Integer> valueCounts = new HashMap<>();
+    private int otherValuesCount;
+    private int count;
+
+    DifferenceGroup(String pathPattern, int maxExamples) {
+        this.pathPattern = pathPattern;
+        this.maxExamples = maxExamples;
+    }
+
+    /**
+     * Adds the difference to the group, returns true if it's kept as an example.
+     */
+    boolean add(JsonDifference difference, Node expected, Node actual) {
+        count++;
+        String values = describe(expected) + " -> " + describe(actual);
+        if (valueCounts.containsKey(values) || valueCounts.size() < MAX_DISTINCT_VALUES) {
+            valueCounts.merge(values, 1, Integer::sum);
+        } else {
+            otherValuesCount++;
+        }
+        if (examples.size() < maxExamples) {
+            examples.add(difference);
+            return true;
+        }
+        return false;
+    }
+
+    List<JsonDifference> getExamples() {
+        return examples;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * Summary of the differences that are not kept as examples, null if there are no such differences.
+     */
+    String getSummary() {
+        if (count <= examples.size()) {
+            return null;
+        }
+        StringBuilder summary = new StringBuilder()
+            .append("... ").append(count - examples.size()).append(" more differences like this in \"").append(pathPattern)
+            .append("\", most common values: ");
+        List<Map.Entry<String, Integer>> sortedValues = new ArrayList<>(valueCounts.entrySet());
+        sortedValues.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()));
+        int other = otherValuesCount;
+        for (int i = 0; i < sortedValues.size(); i++) {
+            Map.Entry<String, Integer> value = sortedValues.get(i);
+            if (i < PRINTED_VALUES) {
+                if (i > 0) {
+                    summary.append(", ");
+                }
+                summary.append(value.getKey()).append(" (").append(value.getValue()).append("x)");
+            } else {
+                other += value.getValue();
+            }
+        }
+        if (other > 0) {
+            summary.append(", other (").append(other).append("x)");
+        }
+        return summary.append('.').toString();
+    }
+
+    private static String describe(Node node) {
+        if (node.isMissingNode()) {
+            return "missing";
+        }
+        Node.NodeType type = node.getNodeType();
+        if (type == Node.NodeType.OBJECT || type == Node.NodeType.ARRAY) {
+            return type.getDescription();
+        }
+        String value = node.toString();
+        return value.length() <= MAX_VALUE_LENGTH ? value : value.substring(0, MAX_VALUE_LENGTH) + "...";
+    }
+}
@@ -26,6 +26,10 @@ class DifferenceImpl implements Difference {
         this.type = type;
     }
 
+    Context getContext() {
+        return context;
+    }
+
     @Override
     public String getActualPath() {
         return context.getActualPath() != null ? context.getActualPath().getFullPath() : null;
@@ -36,6 +40,16 @@ class DifferenceImpl implements Difference {
         return context.getExpectedPath() != null ? context.getExpectedPath().getFullPath() : null;
     }
 
+    @Override
+    public String getActualJsonPointer() {
+        return context.getActualPath() != null ? context.getActualPath().toJsonPointer() : null;
+    }
+
+    @Override
+    public String getExpectedJsonPointer() {
+        return context.getExpectedPath() != null ? context.getExpectedPath().toJsonPointer() : null;
+    }
+
     @Override
     public Object getActual() {
         Node actualNode = context.getActualNode();
@@ -16,26 +16,70 @@
 package net.javacrumbs.jsonunit.core.internal;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * List of differences
+ * List of differences. If grouping is enabled, differences are grouped by the message and path pattern
+ * as they are added and only first maxExamples differences of each group are kept.
  */
 class Differences {
     private final List<JsonDifference> differences = new ArrayList<>();
+    private final Map<String, DifferenceGroup> groups;
+    private final int maxExamples;
+    private int size;
 
     Differences() {
+        this(Integer.MAX_VALUE);
     }
 
-    void add(JsonDifference jsonDifference) {
-        differences.add(jsonDifference);
+    Differences(int maxExamples) {
+        this.maxExamples = maxExamples;
+        this.groups = maxExamples != Integer.MAX_VALUE ? new LinkedHashMap<>() : null;
+    }
+
+    /**
+     * Records difference found in the context.
+     */
+    void add(Context context, String message, Object... args) {
+        JsonDifference jsonDifference = new JsonDifference(context, message, args);
+        size++;
+        if (groups == null) {
+            differences.add(jsonDifference);
+        } else {
+            String pathPattern = Path.toPattern(jsonDifference.getPath().getFullPath());
+            DifferenceGroup group = groups.computeIfAbsent(jsonDifference.getTemplate() + '\n' + pathPattern, key -> new DifferenceGroup(pathPattern, maxExamples));
+            if (group.add(jsonDifference, context.getExpectedNode(), context.getActualNode())) {
+                differences.add(jsonDifference);
+            }
+        }
+    }
+
+    /**
+     * Number of all differences, including the ones that are only counted in groups.
+     */
+    int size() {
+        return size;
     }
 
     boolean isEmpty() {
-        return differences.isEmpty();
+        return size == 0;
     }
 
+    /**
+     * Recorded differences. If grouping is enabled, only examples are returned.
+     */
     List<JsonDifference> getDifferences() {
         return differences;
     }
+
+    boolean isGrouped() {
+        return groups != null;
+    }
+
+    Collection<DifferenceGroup> getGroups() {
+        return groups.values();
+    }
 }
@@ -15,6 +15,7 @@
  */
 package net.javacrumbs.jsonunit.core.internal;
 
+import net.javacrumbs.jsonunit.core.Configuration;
 import org.opentest4j.AssertionFailedError;
 
 import java.util.Collections;
@@ -23,31 +24,87 @@ import java.util.List;
 class ExceptionUtils {
     private static final String ROOT_MESSAGE = "JSON documents are different:\n";
 
-    static String formatDifferences(String message, Differences differences) {
-        return formatDifferences(message, differences.getDifferences());
+    static String formatDifferences(String message, Differences differences, int maxLength) {
+        if (differences.isGrouped()) {
+            return formatGroupedDifferences(message, differences, maxLength);
+        }
+        return formatDifferences(message, differences.getDifferences(), maxLength);
+    }
+
+    private static String formatGroupedDifferences(String message, Differences differences, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        if (!differences.isEmpty()) {
+            addHeading(message, builder);
+            builder.append(ROOT_MESSAGE);
+            int remaining = differences.size();
+            for (DifferenceGroup group : differences.getGroups()) {
+                if (builder.length() >= maxLength) {
+                    builder.append("... and ").append(remaining).append(" more differences.\n");
+                    break;
+                }
+                for (JsonDifference difference : group.getExamples()) {
+                    builder.append(difference.getMessage()).append("\n");
+                }
+                String summary = group.getSummary();
+                if (summary != null) {
+                    builder.append(summary).append("\n");
+                }
+                remaining -= group.getCount();
+            }
+        }
+        return builder.toString();
     }
 
-    static String formatDifferences(String message, List<JsonDifference> differences) {
+    static String formatDifferences(String message, List<JsonDifference> differences, int maxLength) {
         StringBuilder builder = new StringBuilder();
         if (!differences.isEmpty()) {
             addHeading(message, builder);
             builder.append(ROOT_MESSAGE);
-            for (JsonDifference difference : differences) {
-                builder.append(difference.getMessage()).append("\n");
+            for (int i = 0; i < differences.size(); i++) {
+                if (builder.length() >= maxLength) {
+                    builder.append("... and ").append(differences.size() - i).append(" more differences.\n");
+                    break;
+                }
+                builder.append(differences.get(i).getMessage()).append("\n");
             }
         }
-        String result = builder.toString();
-        //System.out.println("XXXXXX\n" + result + "\nXXXXXXXXX");
-        return result;
+        return builder.toString();
     }
 
-    static AssertionError createException(String message, Differences diffs) {
+    static AssertionError createException(String message, Differences diffs, int maxMessageLength) {
         List<JsonDifference> differences = diffs.getDifferences();
-        if (differences.size() == 1) {
+        if (diffs.size() == 1) {
             JsonDifference difference = differences.get(0);
-            return new AssertionFailedError(formatDifferences(message, Collections.singletonList(difference)), difference.getExpected(), difference.getActual());
+            return new AssertionFailedError(formatDifferences(message, Collections.singletonList(difference), maxMessageLength), difference.getExpected(), difference.getActual());
+        } else {
+            return new JsonAssertError(message, diffs, maxMessageLength);
+        }
+    }
+
+    /**
+     * AssertionFailedError keeps the values. If the rendering is limited, values are replaced by their string
+     * representation, rendered only up to the limits. So a large value is never converted to a string as a whole
+     * and the compared documents are not kept with the error.
+     */
+    static Object boundedValue(Object value, Configuration configuration) {
+        if (value == null || value instanceof Number || value instanceof Boolean || isUnlimited(configuration)) {
+            return value;
+        }
+        NodeRenderer.Rendered rendered = value instanceof NodeWrapper ? NodeRenderer.sorted(((NodeWrapper) value).getWrappedNode(), configuration) : NodeRenderer.compact(value, configuration);
+        return rendered.toString();
+    }
+
+    private static boolean isUnlimited(Configuration configuration) {
+        return configuration.getMaxDifferenceLength() == Integer.MAX_VALUE
+            && configuration.getMaxDifferenceArrayElements() == Integer.MAX_VALUE
+            && configuration.getMaxDifferenceDepth() == Integer.MAX_VALUE;
+    }
+
+    static String truncate(String value, int maxLength) {
+        if (value.length() <= maxLength) {
+            return value;
         } else {
-            return new JsonAssertError(message, diffs);
+            return value.substring(0, maxLength) + "... (" + (value.length() - maxLength) + " more characters)";
         }
     }
 
@@ -72,8 +72,8 @@ class GsonNodeFactory extends AbstractNodeFactory {
         }
     }
 
-    public boolean isPreferredFor(Object source) {
-        return source instanceof JsonElement;
+    public boolean isPreferredFor(Class<?> sourceClass) {
+        return JsonElement.class.isAssignableFrom(sourceClass);
     }
 
     static final class GsonNode extends AbstractNode {
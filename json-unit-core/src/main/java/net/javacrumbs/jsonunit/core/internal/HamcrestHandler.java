@@ -2,6 +2,7 @@ package net.javacrumbs.jsonunit.core.internal;
 
 import net.javacrumbs.jsonunit.core.Configuration;
 import net.javacrumbs.jsonunit.core.ParametrizedMatcher;
+import net.javacrumbs.jsonunit.core.ParametrizedMatcherFactory;
 import org.hamcrest.Description;
 import org.hamcrest.StringDescription;
 
@@ -27,7 +28,9 @@ class HamcrestHandler {
     void matchHamcrestMatcher(Context context, Node actualNode, Matcher patternMatcher, String matcherName) {
         org.hamcrest.Matcher<?> matcher = configuration.getMatcher(matcherName);
         if (matcher != null) {
-            if (matcher instanceof ParametrizedMatcher) {
+            if (matcher instanceof ParametrizedMatcherFactory) {
+                matcher = ((ParametrizedMatcherFactory) matcher).withParameter(patternMatcher.group(2));
+            } else if (matcher instanceof ParametrizedMatcher) {
                 ((ParametrizedMatcher) matcher).setParameter(patternMatcher.group(2));
             }
             Object value = actualNode.getValue();
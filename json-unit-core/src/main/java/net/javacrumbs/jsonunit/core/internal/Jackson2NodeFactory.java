@@ -34,7 +34,10 @@ import static net.javacrumbs.jsonunit.core.internal.Utils.closeQuietly;
  * Deserializes node using Jackson 2
  */
 class Jackson2NodeFactory extends AbstractNodeFactory {
-    private final ServiceLoader<Jackson2ObjectMapperProvider> serviceLoader = ServiceLoader.load(Jackson2ObjectMapperProvider.class);
+    /**
+     * Provider found by ServiceLoader, resolved on first use. Iterating ServiceLoader scans the classpath.
+     */
+    private volatile Jackson2ObjectMapperProvider loadedProvider;
 
     @Override
     protected Node doConvertValue(Object source) {
@@ -61,7 +64,21 @@ class Jackson2NodeFactory extends AbstractNodeFactory {
     }
 
     private Jackson2ObjectMapperProvider getMapperProvider() {
-        Iterator<Jackson2ObjectMapperProvider> iterator = serviceLoader.iterator();
+        Jackson2ObjectMapperProvider provider = loadedProvider;
+        if (provider == null) {
+            synchronized (this) {
+                provider = loadedProvider;
+                if (provider == null) {
+                    provider = loadProvider();
+                    loadedProvider = provider;
+                }
+            }
+        }
+        return provider;
+    }
+
+    private static Jackson2ObjectMapperProvider loadProvider() {
+        Iterator<Jackson2ObjectMapperProvider> iterator = ServiceLoader.load(Jackson2ObjectMapperProvider.class).iterator();
         if (iterator.hasNext()) {
             return iterator.next();
         } else {
@@ -77,8 +94,8 @@ class Jackson2NodeFactory extends AbstractNodeFactory {
         }
     }
 
-    public boolean isPreferredFor(Object source) {
-        return source instanceof JsonNode;
+    public boolean isPreferredFor(Class<?> sourceClass) {
+        return JsonNode.class.isAssignableFrom(sourceClass);
     }
 
     static final class Jackson2Node extends AbstractNode {
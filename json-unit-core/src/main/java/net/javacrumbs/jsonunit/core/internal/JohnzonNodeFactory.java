@@ -78,8 +78,8 @@ public class JohnzonNodeFactory extends AbstractNodeFactory {
     }
 
     @Override
-    public boolean isPreferredFor(Object source) {
-        return source instanceof JsonValue;
+    public boolean isPreferredFor(Class<?> sourceClass) {
+        return JsonValue.class.isAssignableFrom(sourceClass);
     }
 
     private static Node newNode(JsonValue value) {
@@ -17,21 +17,45 @@ package net.javacrumbs.jsonunit.core.internal;
 
 import org.opentest4j.MultipleFailuresError;
 
+import java.util.Collections;
+import java.util.List;
+
 import static java.util.stream.Collectors.toList;
 import static net.javacrumbs.jsonunit.core.internal.ExceptionUtils.formatDifferences;
 
 class JsonAssertError extends MultipleFailuresError {
     private final String message;
     private final Differences differences;
+    private final int maxLength;
+    private String formattedMessage;
+    private List<Throwable> failures;
 
-    JsonAssertError(String message, Differences differences) {
-        super(message, differences.getDifferences().stream().map(JsonDifference::getError).collect(toList()));
+    JsonAssertError(String message, Differences differences, int maxLength) {
+        // failures are created lazily, they are not needed in most cases
+        super(message, Collections.<Throwable>emptyList());
         this.message = message;
         this.differences = differences;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public synchronized String getMessage() {
+        if (formattedMessage == null) {
+            formattedMessage = formatDifferences(message, differences, maxLength);
+        }
+        return formattedMessage;
+    }
+
+    @Override
+    public synchronized List<Throwable> getFailures() {
+        if (failures == null) {
+            failures = Collections.unmodifiableList(differences.getDifferences().stream().map(JsonDifference::getError).collect(toList()));
+        }
+        return failures;
     }
 
     @Override
-    public String getMessage() {
-        return formatDifferences(message, differences);
+    public boolean hasFailures() {
+        return !differences.isEmpty();
     }
 }
@@ -15,38 +15,67 @@
  */
 package net.javacrumbs.jsonunit.core.internal;
 
+import net.javacrumbs.jsonunit.core.Configuration;
 import org.opentest4j.AssertionFailedError;
 
+import static net.javacrumbs.jsonunit.core.internal.ExceptionUtils.boundedValue;
+import static net.javacrumbs.jsonunit.core.internal.ExceptionUtils.truncate;
+
+/**
+ * Recorded difference. The message and the values are rendered when the difference is created, so the compared
+ * documents do not have to be kept in memory with the difference. If the rendering is not limited, the values are
+ * kept as they are.
+ */
 class JsonDifference {
+    private final String template;
     private final String message;
-    private final Object[] args;
-    private final Node expected;
-    private final Node actual;
-
-    private JsonDifference(String message, Object[] args, Node expected, Node actual) {
-        this.message = message;
-        this.args = args;
-        this.expected = expected;
-        this.actual = actual;
-    }
+    private final Object expected;
+    private final Object actual;
+    private final Object expectedValue;
+    private final Object actualValue;
+    private final Path path;
 
-    JsonDifference(Context context, String message, Object... args) {
-        this(message, args, context.getExpectedNode(), context.getActualNode());
+    JsonDifference(Context context, String template, Object... args) {
+        Configuration configuration = context.getConfiguration();
+        this.template = template;
+        this.message = truncate(String.format(template, args), configuration.getMaxDifferenceLength());
+        this.expected = boundedValue(context.getExpectedNode(), configuration);
+        this.actual = boundedValue(context.getActualNode(), configuration);
+        this.expectedValue = boundedValue(context.getExpectedNode().getValue(), configuration);
+        this.actualValue = boundedValue(context.getActualNode().getValue(), configuration);
+        this.path = context.getActualPath();
     }
 
     AssertionFailedError getError() {
-        return new AssertionFailedError(getMessage(), expected.getValue(), actual.getValue());
+        return new AssertionFailedError(message, expectedValue, actualValue);
     }
 
-    public Node getExpected() {
+    /**
+     * Expected node, or its truncated string representation.
+     */
+    Object getExpected() {
         return expected;
     }
 
-    public Node getActual() {
+    /**
+     * Actual node, or its truncated string representation.
+     */
+    Object getActual() {
         return actual;
     }
 
-    public String getMessage() {
-        return String.format(message, args);
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Message before formatting, same for all differences of the same kind.
+     */
+    String getTemplate() {
+        return template;
+    }
+
+    String getMessage() {
+        return message;
     }
-}
\ No newline at end of file
+}
@@ -75,8 +75,8 @@ class JsonOrgNodeFactory extends AbstractNodeFactory {
         }
     }
 
-    public boolean isPreferredFor(Object source) {
-        return source instanceof JSONObject || source instanceof JSONArray;
+    public boolean isPreferredFor(Class<?> sourceClass) {
+        return JSONObject.class.isAssignableFrom(sourceClass) || JSONArray.class.isAssignableFrom(sourceClass);
     }
 
     private static final class JSONArrayNode extends NodeSkeleton {
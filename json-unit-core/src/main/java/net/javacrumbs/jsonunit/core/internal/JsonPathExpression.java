@@ -0,0 +1,548 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static net.javacrumbs.jsonunit.core.internal.Node.NodeType.ARRAY;
+
+/**
+ * Subset of JSONPath that can be matched against paths of compared nodes without evaluating it on the document
+ * first. Supports
+ *
+ * <ul>
+ *     <li>fields <code>$.a.b</code>, <code>$['a']['b']</code>, <code>$['a','b']</code></li>
+ *     <li>recursive descent <code>$..a</code>, <code>$..[0]</code></li>
+ *     <li>wildcards <code>$.a.*</code>, <code>$.a[*]</code></li>
+ *     <li>indexes <code>$.a[0]</code>, <code>$.a[-1]</code>, <code>$.a[0,2]</code> and slices <code>$.a[1:3]</code>, <code>$.a[::2]</code></li>
+ *     <li>filters on array elements with one comparison or an existence check <code>$.a[?(@.type == 'x')]</code>, <code>$.a[?(@.b.c)]</code></li>
+ * </ul>
+ *
+ * Other expressions, for example functions or filters combining conditions, are not supported.
+ */
+public final class JsonPathExpression {
+    /**
+     * Marks paths that are not supported, so they are not parsed again.
+     */
+    private static final JsonPathExpression UNSUPPORTED = new JsonPathExpression(Collections.emptyList());
+
+    /**
+     * The same paths are used by many comparisons, they are compiled only once.
+     * The size can be changed by "json-unit.json-path-expression-cache.size" system property.
+     */
+    private static final LruCache<String, JsonPathExpression> EXPRESSIONS = new LruCache<>(Integer.getInteger("json-unit.json-path-expression-cache.size", 256));
+
+    private final Segment[] segments;
+
+    private JsonPathExpression(List<Segment> segments) {
+        this.segments = segments.toArray(new Segment[0]);
+    }
+
+    /**
+     * Returns true if the path is a JSONPath that is matched natively.
+     */
+    public static boolean isSupported(String path) {
+        return compile(path) != null;
+    }
+
+    /**
+     * Compiles the path, returns null if the path is not a supported JSONPath.
+     */
+    static JsonPathExpression compile(String path) {
+        if (!path.startsWith("$")) {
+            return null;
+        }
+        JsonPathExpression expression = EXPRESSIONS.computeIfAbsent(path, JsonPathExpression::parse);
+        return expression != UNSUPPORTED ? expression : null;
+    }
+
+    private static JsonPathExpression parse(String path) {
+        try {
+            return new Parser(path).parse();
+        } catch (IllegalArgumentException e) {
+            return UNSUPPORTED;
+        }
+    }
+
+    /**
+     * Matches path of a compared node.
+     */
+    boolean matches(NodePath path) {
+        return path.isSplit() && matches(0, 0, path);
+    }
+
+    private boolean matches(int segmentIndex, int stepIndex, NodePath path) {
+        if (segmentIndex == segments.length) {
+            return stepIndex == path.size();
+        }
+        Segment segment = segments[segmentIndex];
+        if (segment.recursive) {
+            for (int i = stepIndex; i < path.size(); i++) {
+                if (segment.matches(path, i) && matches(segmentIndex + 1, i + 1, path)) {
+                    return true;
+                }
+            }
+            return false;
+        } else {
+            return stepIndex < path.size()
+                && segment.matches(path, stepIndex)
+                && matches(segmentIndex + 1, stepIndex + 1, path);
+        }
+    }
+
+    /**
+     * One step of the expression.
+     */
+    private abstract static class Segment {
+        private boolean recursive;
+
+        abstract boolean matches(NodePath path, int step);
+    }
+
+    private static final class Wildcard extends Segment {
+        @Override
+        boolean matches(NodePath path, int step) {
+            return true;
+        }
+    }
+
+    private static final class Fields extends Segment {
+        private final List<String> names;
+
+        private Fields(List<String> names) {
+            this.names = names;
+        }
+
+        @Override
+        boolean matches(NodePath path, int step) {
+            return !path.isIndex(step) && names.contains(path.getName(step));
+        }
+    }
+
+    private static final class Indexes extends Segment {
+        private final int[] indexes;
+
+        private Indexes(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        @Override
+        boolean matches(NodePath path, int step) {
+            if (!path.isIndex(step)) {
+                return false;
+            }
+            int index = path.getIndex(step);
+            Integer size = null;
+            for (int expected : indexes) {
+                if (expected < 0) {
+                    if (size == null) {
+                        size = path.getParentSize(step);
+                    }
+                    // negative index does not match if the size of the array is not known
+                    if (size < 0) {
+                        continue;
+                    }
+                    expected += size;
+                }
+                if (index == expected) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Slice extends Segment {
+        private final Integer start;
+        private final Integer end;
+        private final int step;
+
+        private Slice(Integer start, Integer end, int step) {
+            this.start = start;
+            this.end = end;
+            this.step = step;
+        }
+
+        @Override
+        boolean matches(NodePath path, int pathStep) {
+            if (!path.isIndex(pathStep)) {
+                return false;
+            }
+            int index = path.getIndex(pathStep);
+            int from = start != null ? start : 0;
+            int to = end != null ? end : Integer.MAX_VALUE;
+            if (from < 0 || to < 0) {
+                int size = path.getParentSize(pathStep);
+                if (size < 0) {
+                    // slice relative to the end does not match if the size of the array is not known
+                    return false;
+                }
+                from = from < 0 ? Math.max(from + size, 0) : from;
+                to = to < 0 ? to + size : to;
+            }
+            return index >= from && index < to && (index - from) % step == 0;
+        }
+    }
+
+    /**
+     * Filter on array elements like <code>?(@.type == 'x')</code>. Without an operator, the filter checks that the
+     * node exists.
+     */
+    private static final class Filter extends Segment {
+        private final String[] fields;
+        private final String operator;
+        private final Object value;
+
+        private Filter(String[] fields, String operator, Object value) {
+            this.fields = fields;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Override
+        boolean matches(NodePath path, int step) {
+            if (!path.isIndex(step)) {
+                return false;
+            }
+            Node node = path.getNode(step + 1);
+            for (String field : fields) {
+                node = node.get(field);
+            }
+            if (node.isMissingNode()) {
+                return false;
+            }
+            if (operator == null) {
+                return true;
+            }
+            Integer comparison = compare(node);
+            if (comparison == null) {
+                return "!=".equals(operator);
+            }
+            switch (operator) {
+                case "==":
+                    return comparison == 0;
+                case "!=":
+                    return comparison != 0;
+                case "<":
+                    return comparison < 0;
+                case "<=":
+                    return comparison <= 0;
+                case ">":
+                    return comparison > 0;
+                case ">=":
+                    return comparison >= 0;
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Compares the node with the value, returns null if they can not be compared.
+         */
+        private Integer compare(Node node) {
+            switch (node.getNodeType()) {
+                case NUMBER:
+                    return value instanceof BigDecimal ? node.decimalValue().compareTo((BigDecimal) value) : null;
+                case STRING:
+                    return value instanceof String ? node.asText().compareTo((String) value) : null;
+                case BOOLEAN:
+                    return value instanceof Boolean && node.asBoolean().equals(value) ? 0 : null;
+                case NULL:
+                    return value == null ? 0 : null;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Path of a compared node split to steps. It is created once for a node and shared by all expressions.
+     * Actual nodes on the path are resolved only when a filter or a negative index needs them.
+     */
+    static final class NodePath {
+        private final Path path;
+        private final Object[] steps;
+        private final int firstStep;
+        private final Node root;
+        private Node[] nodes;
+
+        /**
+         * @param root actual node at the end of the path prefix, null if the nodes are not known
+         */
+        NodePath(Path path, Node root) {
+            this.path = path;
+            this.steps = path.getMatchSteps();
+            this.firstStep = path.getPrefixStepCount();
+            this.root = root;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        String getFullPath() {
+            return path.getFullPath();
+        }
+
+        private boolean isSplit() {
+            return steps != null;
+        }
+
+        private int size() {
+            return steps.length;
+        }
+
+        private boolean isIndex(int step) {
+            return steps[step] instanceof Integer;
+        }
+
+        private int getIndex(int step) {
+            return (Integer) steps[step];
+        }
+
+        private String getName(int step) {
+            return (String) steps[step];
+        }
+
+        /**
+         * Actual node after given number of steps. Nodes in the path prefix are not available.
+         */
+        private Node getNode(int stepCount) {
+            if (root == null || stepCount < firstStep) {
+                return Node.MISSING_NODE;
+            }
+            if (nodes == null) {
+                nodes = new Node[steps.length - firstStep + 1];
+                nodes[0] = root;
+            }
+            int i = stepCount - firstStep;
+            if (nodes[i] == null) {
+                Node parent = getNode(stepCount - 1);
+                Object step = steps[stepCount - 1];
+                if (step instanceof Integer) {
+                    int index = (Integer) step;
+                    nodes[i] = parent.element(index < 0 ? parent.size() + index : index);
+                } else {
+                    nodes[i] = parent.get((String) step);
+                }
+            }
+            return nodes[i];
+        }
+
+        /**
+         * Size of the array containing the step, negative if it is not known.
+         */
+        private int getParentSize(int step) {
+            Node parent = getNode(step);
+            return parent.isMissingNode() || parent.getNodeType() != ARRAY ? -1 : parent.size();
+        }
+    }
+
+    private static final class Parser {
+        private final String path;
+        private int pos = 1;
+
+        private Parser(String path) {
+            this.path = path;
+        }
+
+        JsonPathExpression parse() {
+            List<Segment> segments = new ArrayList<>();
+            while (pos < path.length()) {
+                boolean recursive = false;
+                if (path.startsWith("..", pos)) {
+                    recursive = true;
+                    pos += 2;
+                } else if (peek() == '.') {
+                    pos++;
+                }
+                Segment segment = peek() == '[' ? bracket() : dotted();
+                segment.recursive = recursive;
+                segments.add(segment);
+            }
+            return new JsonPathExpression(segments);
+        }
+
+        private Segment dotted() {
+            if (peek() == '*') {
+                pos++;
+                return new Wildcard();
+            }
+            int start = pos;
+            while (pos < path.length() && peek() != '.' && peek() != '[') {
+                pos++;
+            }
+            String name = path.substring(start, pos);
+            if (name.isEmpty() || name.indexOf('(') >= 0) {
+                // functions like length() are not supported
+                throw new IllegalArgumentException("Unsupported path " + path);
+            }
+            return new Fields(Arrays.asList(name));
+        }
+
+        private Segment bracket() {
+            pos++;
+            Segment result;
+            if (peek() == '*') {
+                pos++;
+                result = new Wildcard();
+            } else if (peek() == '?') {
+                result = filter();
+            } else if (peek() == '\'' || peek() == '"') {
+                List<String> names = new ArrayList<>();
+                names.add(quoted());
+                while (peek() == ',') {
+                    pos++;
+                    skipSpaces();
+                    names.add(quoted());
+                }
+                result = new Fields(names);
+            } else {
+                result = indexesOrSlice();
+            }
+            expect(']');
+            return result;
+        }
+
+        private Segment indexesOrSlice() {
+            int end = path.indexOf(']', pos);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unsupported path " + path);
+            }
+            String content = path.substring(pos, end).replace(" ", "");
+            pos = end;
+            if (content.contains(":")) {
+                String[] parts = content.split(":", -1);
+                if (parts.length > 3) {
+                    throw new IllegalArgumentException("Unsupported path " + path);
+                }
+                Integer start = parseOptionalInt(parts[0]);
+                Integer stop = parseOptionalInt(parts[1]);
+                Integer step = parts.length == 3 ? parseOptionalInt(parts[2]) : null;
+                if (step != null && step <= 0) {
+                    throw new IllegalArgumentException("Unsupported path " + path);
+                }
+                return new Slice(start, stop, step != null ? step : 1);
+            } else {
+                return new Indexes(Arrays.stream(content.split(",")).mapToInt(Integer::parseInt).toArray());
+            }
+        }
+
+        private Segment filter() {
+            pos++;
+            expect('(');
+            skipSpaces();
+            expect('@');
+            List<String> fields = new ArrayList<>();
+            while (peek() == '.') {
+                pos++;
+                int start = pos;
+                while (pos < path.length() && (Character.isLetterOrDigit(peek()) || peek() == '_' || peek() == '-')) {
+                    pos++;
+                }
+                if (start == pos) {
+                    throw new IllegalArgumentException("Unsupported path " + path);
+                }
+                fields.add(path.substring(start, pos));
+            }
+            skipSpaces();
+            String operator = null;
+            Object value = null;
+            if (peek() != ')') {
+                operator = operator();
+                skipSpaces();
+                value = literal();
+                skipSpaces();
+            }
+            expect(')');
+            return new Filter(fields.toArray(new String[0]), operator, value);
+        }
+
+        private String operator() {
+            for (String operator : new String[]{"==", "!=", "<=", ">=", "<", ">"}) {
+                if (path.startsWith(operator, pos)) {
+                    pos += operator.length();
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported path " + path);
+        }
+
+        private Object literal() {
+            if (peek() == '\'' || peek() == '"') {
+                return quoted();
+            }
+            int start = pos;
+            while (pos < path.length() && peek() != ')' && peek() != ' ') {
+                pos++;
+            }
+            String literal = path.substring(start, pos);
+            switch (literal) {
+                case "true":
+                    return Boolean.TRUE;
+                case "false":
+                    return Boolean.FALSE;
+                case "null":
+                    return null;
+                default:
+                    try {
+                        return new BigDecimal(literal);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Unsupported path " + path);
+                    }
+            }
+        }
+
+        private String quoted() {
+            char quote = peek();
+            if (quote != '\'' && quote != '"') {
+                throw new IllegalArgumentException("Unsupported path " + path);
+            }
+            int end = path.indexOf(quote, pos + 1);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unsupported path " + path);
+            }
+            String result = path.substring(pos + 1, end);
+            pos = end + 1;
+            return result;
+        }
+
+        private Integer parseOptionalInt(String value) {
+            return value.isEmpty() ? null : Integer.valueOf(value);
+        }
+
+        private void skipSpaces() {
+            while (peek() == ' ') {
+                pos++;
+            }
+        }
+
+        private void expect(char c) {
+            if (peek() != c) {
+                throw new IllegalArgumentException("Unsupported path " + path);
+            }
+            pos++;
+        }
+
+        private char peek() {
+            return pos < path.length() ? path.charAt(pos) : 0;
+        }
+    }
+}
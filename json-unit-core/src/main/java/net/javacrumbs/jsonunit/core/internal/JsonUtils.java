@@ -19,9 +19,7 @@ package net.javacrumbs.jsonunit.core.internal;
 import net.javacrumbs.jsonunit.core.Configuration;
 import net.javacrumbs.jsonunit.core.Option;
 
-import java.util.Iterator;
-import java.util.Map;
-import java.util.TreeSet;
+import java.io.IOException;
 
 /**
  * Internal utility class to parse JSON values.
@@ -58,6 +56,14 @@ public class JsonUtils {
     }
 
 
+    /**
+     * Converts expected value to JSON. Strings that are not valid JSON are taken as JSON strings.
+     * The result can be reused in multiple comparisons.
+     */
+    public static Node convertExpectedToJson(Object expected) {
+        return convertToJson(quoteIfNeeded(expected), "expected", true);
+    }
+
     /**
      * Converts value to Json node. It can be Map, String, null, or primitive. Should not be parsed, just converted.
      * @param source
@@ -183,10 +189,52 @@ public class JsonUtils {
         return GenericNodeBuilder.wrapDeserializedObject(source);
     }
 
+    /**
+     * Wraps object without converting it to JSON tree. Maps, collections, records and beans are read lazily
+     * during comparison.
+     */
+    public static Node wrapObject(Object source) {
+        return ObjectViewNodeBuilder.view(source);
+    }
+
     public static Object missingNode() {
         return Node.MISSING_NODE;
     }
 
+    /**
+     * Writes the value as a quoted JSON string.
+     */
+    public static void appendJsonString(Appendable out, String value) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+
     private static boolean isNull(String trimmed) {
         return trimmed.equals("null");
     }
@@ -215,27 +263,4 @@ public class JsonUtils {
         }
         return true;
     }
-
-    static String prettyPrint(Map<String, Object> map) {
-        StringBuilder builder = new StringBuilder();
-        builder.append("{");
-        Iterator<String> keys = new TreeSet<>(map.keySet()).iterator();
-        while (keys.hasNext()) {
-            String key = keys.next();
-            builder
-                .append('"').append(key).append('"')
-                .append(":")
-                .append(quoteString(map.get(key)));
-            if (keys.hasNext()) {
-                builder.append(",");
-            }
-        }
-        builder.append("}");
-        return builder.toString();
-    }
-
-    private static Object quoteString(Object value) {
-        return value instanceof String ? "\"" + value + "\"" : value;
-    }
-
 }
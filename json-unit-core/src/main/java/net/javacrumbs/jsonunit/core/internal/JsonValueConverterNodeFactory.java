@@ -0,0 +1,63 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.providers.JsonValueConverter;
+
+/**
+ * Wraps values converted by a registered {@link JsonValueConverter}.
+ */
+class JsonValueConverterNodeFactory implements NodeFactory {
+    private final JsonValueConverter converter;
+    private final NodeBuilder nodeBuilder = new ObjectViewNodeBuilder() {
+        @Override
+        public Node newNode(Object object) {
+            if (converter.getSupportedType().isInstance(object)) {
+                return super.newNode(converter.convert(object));
+            }
+            return super.newNode(object);
+        }
+    };
+
+    JsonValueConverterNodeFactory(JsonValueConverter converter) {
+        this.converter = converter;
+    }
+
+    @Override
+    public boolean isPreferredFor(Object source) {
+        return converter.getSupportedType().isInstance(source);
+    }
+
+    @Override
+    public boolean isPreferredFor(Class<?> sourceClass) {
+        return converter.getSupportedType().isAssignableFrom(sourceClass);
+    }
+
+    @Override
+    public boolean isPreferenceByClass() {
+        return true;
+    }
+
+    @Override
+    public Node convertToNode(Object source, String label, boolean lenient) {
+        return valueToNode(source);
+    }
+
+    @Override
+    public Node valueToNode(Object source) {
+        return nodeBuilder.newNode(source);
+    }
+}
@@ -70,7 +70,7 @@ class MoshiNodeFactory extends AbstractNodeFactory {
     }
 
     @Override
-    public boolean isPreferredFor(Object source) {
+    public boolean isPreferredFor(Class<?> sourceClass) {
         return false;
     }
 
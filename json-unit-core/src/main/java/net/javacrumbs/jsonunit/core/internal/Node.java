@@ -16,13 +16,18 @@
 package net.javacrumbs.jsonunit.core.internal;
 
 import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
-import static net.javacrumbs.jsonunit.core.internal.JsonUtils.prettyPrint;
 
 
 /**
@@ -192,39 +197,174 @@ public interface Node {
         Object getValue(Node node);
     }
 
-    class JsonMap extends LinkedHashMap<String, Object> implements NodeWrapper {
+    /**
+     * Read-only map view of an object node. Values are converted only when accessed, converted values are kept,
+     * so repeated traversals of the view do not convert them again.
+     */
+    class JsonMap extends AbstractMap<String, Object> implements NodeWrapper {
+        private static final Object NULL_VALUE = new Object();
+
         private final Node wrappedNode;
+        private final ConcurrentMap<String, Object> values = new ConcurrentHashMap<>();
+        private Set<Map.Entry<String, Object>> entrySet;
 
         JsonMap(Node node) {
             wrappedNode = node;
-            Iterator<KeyValue> fields = node.fields();
-            while (fields.hasNext()) {
-                KeyValue keyValue = fields.next();
-                put(keyValue.getKey(), keyValue.getValue().getValue());
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (key instanceof String) {
+                Object value = values.get(key);
+                if (value != null) {
+                    return value != NULL_VALUE ? value : null;
+                }
+                Node node = wrappedNode.get((String) key);
+                return node.isMissingNode() ? null : getValue((String) key, node);
+            } else {
+                return null;
             }
         }
 
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String && (values.containsKey(key) || !wrappedNode.get((String) key).isMissingNode());
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            if (entrySet == null) {
+                entrySet = new EntrySet();
+            }
+            return entrySet;
+        }
+
         @Override
         public String toString() {
-            return prettyPrint(this);
+            return NodeRenderer.sortedWithoutLimits(wrappedNode);
         }
 
         @Override
         public Node getWrappedNode() {
             return wrappedNode;
         }
+
+        private Object getValue(String key, Node node) {
+            Object value = values.get(key);
+            if (value == null) {
+                Object converted = node.getValue();
+                value = converted != null ? converted : NULL_VALUE;
+                Object previous = values.putIfAbsent(key, value);
+                if (previous != null) {
+                    value = previous;
+                }
+            }
+            return value != NULL_VALUE ? value : null;
+        }
+
+        private class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+            private int size = -1;
+
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                final Iterator<KeyValue> fields = wrappedNode.fields();
+                return new Iterator<Map.Entry<String, Object>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return fields.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Object> next() {
+                        KeyValue keyValue = fields.next();
+                        return new SimpleImmutableEntry<>(keyValue.getKey(), getValue(keyValue.getKey(), keyValue.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                if (size < 0) {
+                    int count = 0;
+                    Iterator<KeyValue> fields = wrappedNode.fields();
+                    while (fields.hasNext()) {
+                        fields.next();
+                        count++;
+                    }
+                    size = count;
+                }
+                return size;
+            }
+        }
     }
 
-    class JsonList extends LinkedList<Object> implements NodeWrapper {
+    /**
+     * Read-only list view of an array node. Elements are converted only when accessed, converted elements are kept,
+     * so repeated traversals of the view do not convert them again.
+     */
+    class JsonList extends AbstractList<Object> implements RandomAccess, NodeWrapper {
+        private static final Object NULL_VALUE = new Object();
+
         private final Node wrappedNode;
+        private final int size;
+        private final AtomicReferenceArray<Object> values;
 
         JsonList(Node node) {
-            Iterator<Node> nodeIterator = node.arrayElements();
-            while (nodeIterator.hasNext()) {
-                Node arrayNode = nodeIterator.next();
-                add(arrayNode.getValue());
-            }
             wrappedNode = node;
+            size = node.size();
+            values = new AtomicReferenceArray<>(size);
+        }
+
+        @Override
+        public Object get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            Object value = values.get(index);
+            if (value == null) {
+                return getValue(index, wrappedNode.element(index));
+            }
+            return value != NULL_VALUE ? value : null;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            final Iterator<Node> elements = wrappedNode.arrayElements();
+            return new Iterator<Object>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return elements.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return getValue(index++, elements.next());
+                }
+            };
+        }
+
+        private Object getValue(int index, Node node) {
+            Object value = values.get(index);
+            if (value == null) {
+                Object converted = node.getValue();
+                value = converted != null ? converted : NULL_VALUE;
+                if (!values.compareAndSet(index, null, value)) {
+                    value = values.get(index);
+                }
+            }
+            return value != NULL_VALUE ? value : null;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return NodeRenderer.sortedWithoutLimits(wrappedNode);
         }
 
         @Override
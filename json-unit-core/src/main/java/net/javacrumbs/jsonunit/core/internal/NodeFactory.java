@@ -15,6 +15,10 @@
  */
 package net.javacrumbs.jsonunit.core.internal;
 
+/**
+ * Converts objects to {@link Node}s. For internal use only, other JSON types can be supported by
+ * {@link net.javacrumbs.jsonunit.providers.JsonValueConverter}.
+ */
 public interface NodeFactory {
     /**
      * Returns true if this factory is preferred for given source.
@@ -24,6 +28,28 @@ public interface NodeFactory {
      */
     boolean isPreferredFor(Object source);
 
+    /**
+     * Returns true if this factory is preferred for all values of given class. Used only if
+     * {@link #isPreferenceByClass()} returns true.
+     *
+     * @param sourceClass
+     * @return
+     */
+    default boolean isPreferredFor(Class<?> sourceClass) {
+        return false;
+    }
+
+    /**
+     * Returns true if the preference depends only on the class of the value and {@link #isPreferredFor(Class)}
+     * is consistent with {@link #isPreferredFor(Object)}. If it's true for all the factories, the factory
+     * is resolved only once per class, otherwise {@link #isPreferredFor(Object)} is called for each value.
+     *
+     * @return
+     */
+    default boolean isPreferenceByClass() {
+        return false;
+    }
+
     /**
      * Creates node from given source.
      *
@@ -0,0 +1,336 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.internal.ArrayComparison.NodeWithIndex;
+import net.javacrumbs.jsonunit.core.internal.Node.KeyValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Formattable;
+import java.util.Formatter;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Renders nodes to difference messages. Rendering is streamed directly to an {@link Appendable}
+ * and stops once the length budget is exhausted. Only first elements of large arrays and only
+ * limited depth of nested values are rendered, the limits are taken from the {@link Configuration}.
+ * <p>
+ * The renderers are returned as {@link Formattable} objects so they can be passed as arguments of
+ * difference messages. The value is rendered only when the message is formatted.
+ */
+final class NodeRenderer {
+    private static final Comparator<KeyValue> BY_KEY = Comparator.comparing(KeyValue::getKey);
+
+    private NodeRenderer() {
+
+    }
+
+    /**
+     * Renders object and array nodes with sorted keys, numbers are printed as BigDecimals.
+     */
+    static Rendered sorted(Node node, Configuration configuration) {
+        return new Rendered(configuration) {
+            @Override
+            void render(BudgetAppendable out) throws IOException {
+                renderSorted(node, out, 0, false);
+            }
+        };
+    }
+
+    /**
+     * Renders the whole node with sorted keys, without any limits. Used as string representation of values
+     * returned to users, the limits are applied only to difference messages.
+     */
+    static String sortedWithoutLimits(Node node) {
+        return new Rendered(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE) {
+            @Override
+            void render(BudgetAppendable out) throws IOException {
+                renderSorted(node, out, 0, false);
+            }
+        }.toString();
+    }
+
+    /**
+     * Renders nodes in the compact JSON format and lists in the format of Java collections. Large arrays
+     * and lists are shortened.
+     */
+    static Rendered compact(Object value, Configuration configuration) {
+        return new Rendered(configuration) {
+            @Override
+            void render(BudgetAppendable out) throws IOException {
+                renderCompact(value, out, 0);
+            }
+        };
+    }
+
+    /**
+     * Lazily rendered value.
+     */
+    abstract static class Rendered implements Formattable {
+        private final int maxLength;
+        private final int maxArrayElements;
+        private final int maxDepth;
+
+        Rendered(int maxLength, int maxArrayElements, int maxDepth) {
+            this.maxLength = maxLength;
+            this.maxArrayElements = maxArrayElements;
+            this.maxDepth = maxDepth;
+        }
+
+        Rendered(Configuration configuration) {
+            this(configuration.getMaxDifferenceLength(), configuration.getMaxDifferenceArrayElements(), configuration.getMaxDifferenceDepth());
+        }
+
+        abstract void render(BudgetAppendable out) throws IOException;
+
+        void renderTo(Appendable target) {
+            BudgetAppendable out = new BudgetAppendable(target, maxLength);
+            try {
+                render(out);
+            } catch (BudgetExceededException e) {
+                out.appendRemainder();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void formatTo(Formatter formatter, int flags, int width, int precision) {
+            renderTo(formatter.out());
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            renderTo(builder);
+            return builder.toString();
+        }
+
+        void renderSorted(Node node, BudgetAppendable out, int depth, boolean inArray) throws IOException {
+            switch (node.getNodeType()) {
+                case OBJECT:
+                    if (depth >= maxDepth) {
+                        elide(out, "{...}");
+                        return;
+                    }
+                    List<KeyValue> fields = new ArrayList<>();
+                    node.fields().forEachRemaining(fields::add);
+                    fields.sort(BY_KEY);
+                    out.append('{');
+                    for (int i = 0; i < fields.size(); i++) {
+                        if (i > 0) {
+                            out.append(',');
+                        }
+                        KeyValue field = fields.get(i);
+                        out.append('"').append(field.getKey()).append("\":");
+                        renderSorted(field.getValue(), out, depth + 1, false);
+                    }
+                    out.append('}');
+                    break;
+                case ARRAY:
+                    if (depth >= maxDepth) {
+                        elide(out, "[...]");
+                        return;
+                    }
+                    out.append('[');
+                    Iterator<Node> elements = node.arrayElements();
+                    int index = 0;
+                    while (elements.hasNext()) {
+                        if (index > 0) {
+                            out.append(", ");
+                        }
+                        if (index == maxArrayElements) {
+                            elideElements(out, node.size() - index);
+                            break;
+                        }
+                        renderSorted(elements.next(), out, depth + 1, true);
+                        index++;
+                    }
+                    out.append(']');
+                    break;
+                case STRING:
+                    // strings are not quoted in arrays, keeps the format of Java collections
+                    if (inArray) {
+                        out.append(node.asText());
+                    } else {
+                        out.append('"').append(node.asText()).append('"');
+                    }
+                    break;
+                case NUMBER:
+                    out.append(node.decimalValue().toString());
+                    break;
+                case BOOLEAN:
+                    out.append(node.asBoolean().toString());
+                    break;
+                case NULL:
+                    out.append("null");
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected node type " + node.getNodeType());
+            }
+        }
+
+        void renderCompact(Object value, BudgetAppendable out, int depth) throws IOException {
+            if (value instanceof NodeWithIndex) {
+                renderCompact(((NodeWithIndex) value).getNode(), out, depth);
+            } else if (value instanceof Node && !((Node) value).isMissingNode()) {
+                renderCompactNode((Node) value, out, depth);
+            } else if (value instanceof List) {
+                if (depth >= maxDepth) {
+                    elide(out, "[...]");
+                    return;
+                }
+                List<?> list = (List<?>) value;
+                out.append('[');
+                for (int i = 0; i < list.size(); i++) {
+                    if (i > 0) {
+                        out.append(", ");
+                    }
+                    if (i == maxArrayElements) {
+                        elideElements(out, list.size() - i);
+                        break;
+                    }
+                    renderCompact(list.get(i), out, depth + 1);
+                }
+                out.append(']');
+            } else {
+                out.append(String.valueOf(value));
+            }
+        }
+
+        /**
+         * Objects and arrays are written in the compact JSON format, scalars are written using their toString()
+         * so the format of the JSON library is kept.
+         */
+        private void renderCompactNode(Node node, BudgetAppendable out, int depth) throws IOException {
+            switch (node.getNodeType()) {
+                case OBJECT:
+                    if (depth >= maxDepth) {
+                        elide(out, "{...}");
+                        return;
+                    }
+                    out.append('{');
+                    Iterator<KeyValue> fields = node.fields();
+                    while (fields.hasNext()) {
+                        KeyValue field = fields.next();
+                        out.append('"').append(field.getKey()).append("\":");
+                        renderCompactNode(field.getValue(), out, depth + 1);
+                        if (fields.hasNext()) {
+                            out.append(',');
+                        }
+                    }
+                    out.append('}');
+                    break;
+                case ARRAY:
+                    if (depth >= maxDepth) {
+                        elide(out, "[...]");
+                        return;
+                    }
+                    out.append('[');
+                    Iterator<Node> elements = node.arrayElements();
+                    int index = 0;
+                    while (elements.hasNext()) {
+                        if (index > 0) {
+                            out.append(',');
+                        }
+                        if (index == maxArrayElements) {
+                            elideElements(out, node.size() - index);
+                            break;
+                        }
+                        renderCompactNode(elements.next(), out, depth + 1);
+                        index++;
+                    }
+                    out.append(']');
+                    break;
+                default:
+                    out.append(String.valueOf(node));
+            }
+        }
+
+        private static void elide(Appendable out, String placeholder) throws IOException {
+            out.append(placeholder);
+        }
+
+        private static void elideElements(Appendable out, int count) throws IOException {
+            out.append("... ").append(String.valueOf(count)).append(" more elements");
+        }
+    }
+
+    /**
+     * Appendable that writes at most given number of characters to the target.
+     */
+    static final class BudgetAppendable implements Appendable {
+        private final Appendable target;
+        private final int maxLength;
+        private int length;
+
+        BudgetAppendable(Appendable target, int maxLength) {
+            this.target = target;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            CharSequence value = csq != null ? csq : "null";
+            return append(value, 0, value.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            CharSequence value = csq != null ? csq : "null";
+            int remaining = maxLength - length;
+            if (end - start > remaining) {
+                target.append(value, start, start + remaining);
+                length = maxLength;
+                throw BudgetExceededException.INSTANCE;
+            }
+            target.append(value, start, end);
+            length += end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            if (length >= maxLength) {
+                throw BudgetExceededException.INSTANCE;
+            }
+            target.append(c);
+            length++;
+            return this;
+        }
+
+        private void appendRemainder() {
+            try {
+                target.append("...");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class BudgetExceededException extends RuntimeException {
+        private static final BudgetExceededException INSTANCE = new BudgetExceededException();
+
+        private BudgetExceededException() {
+            super("Rendering budget exceeded", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,341 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Wraps objects to Nodes lazily, without converting them to a JSON tree first. Maps, collections, arrays,
+ * records and beans are wrapped as they are, their values are converted only when the comparison gets to them.
+ * Beans are read using public getters and public fields, records using their components. Numbers, strings, characters
+ * and booleans are wrapped directly. Other values (dates, enums, ...) are converted by the underlying JSON library.
+ */
+class ObjectViewNodeBuilder extends GenericNodeBuilder {
+    static final ObjectViewNodeBuilder INSTANCE = new ObjectViewNodeBuilder();
+
+    private static final ClassValue<Map<String, MethodHandle>> properties = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return findProperties(type);
+        }
+    };
+
+    private static final Method IS_RECORD = findMethod(Class.class, "isRecord");
+    private static final Method GET_RECORD_COMPONENTS = findMethod(Class.class, "getRecordComponents");
+
+    static Node view(Object object) {
+        return INSTANCE.newNode(object);
+    }
+
+    @Override
+    public Node newNode(Object object) {
+        if (object == null) {
+            return new NullNode();
+        } else if (object instanceof Node) {
+            return (Node) object;
+        } else if (object instanceof String) {
+            return new StringNode((String) object);
+        } else if (object instanceof Character) {
+            return new StringNode(object.toString());
+        } else if (object instanceof Boolean) {
+            return new BooleanNode((Boolean) object);
+        } else if (object instanceof Number && isFinite((Number) object)) {
+            return new NumberNode((Number) object);
+        } else if (object instanceof Map) {
+            return new MapNode((Map<?, ?>) object, this);
+        } else if (object instanceof List && object instanceof RandomAccess) {
+            return new ArrayNode((List<?>) object, this);
+        } else if (object instanceof Collection) {
+            // we need indexed access, copying just the references is cheap
+            return new ArrayNode(new ArrayList<>((Collection<?>) object), this);
+        } else if (object instanceof Object[]) {
+            return super.newNode(object);
+        } else if (isBean(object.getClass())) {
+            Map<String, MethodHandle> beanProperties = properties.get(object.getClass());
+            if (!beanProperties.isEmpty()) {
+                return new BeanNode(object, beanProperties, this);
+            }
+        }
+        return JsonUtils.valueToNode(object);
+    }
+
+    /**
+     * NaN and infinity are not valid JSON numbers, the JSON library decides how to represent them.
+     */
+    private static boolean isFinite(Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            return Double.isFinite(number.doubleValue());
+        }
+        return true;
+    }
+
+    private static boolean isBean(Class<?> type) {
+        String name = type.getName();
+        return !type.isArray() && !type.isEnum() && !type.isPrimitive() && !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+
+    private static Map<String, MethodHandle> findProperties(Class<?> type) {
+        Map<String, MethodHandle> result = new LinkedHashMap<>();
+        if (isRecord(type)) {
+            for (Method accessor : getRecordAccessors(type)) {
+                addProperty(result, accessor.getName(), accessor);
+            }
+            return Collections.unmodifiableMap(result);
+        }
+
+        // sorted to get deterministic order
+        Map<String, Object> members = new TreeMap<>();
+        for (Field field : type.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                members.put(field.getName(), field);
+            }
+        }
+        for (Method method : type.getMethods()) {
+            String propertyName = getPropertyName(method);
+            if (propertyName != null) {
+                members.put(propertyName, method);
+            }
+        }
+        for (Map.Entry<String, Object> member : members.entrySet()) {
+            addProperty(result, member.getKey(), member.getValue());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void addProperty(Map<String, MethodHandle> result, String name, Object member) {
+        try {
+            MethodHandle handle;
+            if (member instanceof Method) {
+                Method method = (Method) member;
+                method.setAccessible(true);
+                handle = MethodHandles.lookup().unreflect(method);
+            } else {
+                Field field = (Field) member;
+                field.setAccessible(true);
+                handle = MethodHandles.lookup().unreflectGetter(field);
+            }
+            result.put(name, handle.asType(MethodType.methodType(Object.class, Object.class)));
+        } catch (IllegalAccessException | RuntimeException e) {
+            // not accessible, let's skip it
+        }
+    }
+
+    private static String getPropertyName(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0 || method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+        String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3 && method.getReturnType() != void.class) {
+            return decapitalize(name.substring(3));
+        } else if (name.startsWith("is") && name.length() > 2 && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+            return decapitalize(name.substring(2));
+        } else {
+            return null;
+        }
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static boolean isRecord(Class<?> type) {
+        try {
+            return IS_RECORD != null && (Boolean) IS_RECORD.invoke(type);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static List<Method> getRecordAccessors(Class<?> type) {
+        List<Method> result = new ArrayList<>();
+        try {
+            Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(type);
+            for (Object component : components) {
+                result.add((Method) component.getClass().getMethod("getAccessor").invoke(component));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Can not read record components of " + type, e);
+        }
+        return result;
+    }
+
+    private static Method findMethod(Class<?> type, String name) {
+        try {
+            return type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    static final class BeanNode extends NodeSkeleton {
+        private final Object bean;
+        private final Map<String, MethodHandle> properties;
+        private final NodeBuilder nodeBuilder;
+
+        BeanNode(Object bean, Map<String, MethodHandle> properties, NodeBuilder nodeBuilder) {
+            this.bean = bean;
+            this.properties = properties;
+            this.nodeBuilder = nodeBuilder;
+        }
+
+        @Override
+        public NodeType getNodeType() {
+            return NodeType.OBJECT;
+        }
+
+        @Override
+        public Node element(int index) {
+            return MISSING_NODE;
+        }
+
+        @Override
+        public Iterator<KeyValue> fields() {
+            final Iterator<String> iterator = properties.keySet().iterator();
+            return new Iterator<KeyValue>() {
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                public KeyValue next() {
+                    String name = iterator.next();
+                    return new KeyValue(name, get(name));
+                }
+            };
+        }
+
+        @Override
+        public Node get(String key) {
+            MethodHandle accessor = properties.get(key);
+            if (accessor != null) {
+                return nodeBuilder.newNode(read(accessor));
+            } else {
+                return MISSING_NODE;
+            }
+        }
+
+        private Object read(MethodHandle accessor) {
+            try {
+                return (Object) accessor.invokeExact(bean);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Can not read property of " + bean.getClass(), e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return objectToString(fields());
+        }
+    }
+
+    static final class MapNode extends NodeSkeleton {
+        private final Map<?, ?> map;
+        private final NodeBuilder nodeBuilder;
+
+        MapNode(Map<?, ?> map, NodeBuilder nodeBuilder) {
+            this.map = map;
+            this.nodeBuilder = nodeBuilder;
+        }
+
+        @Override
+        public NodeType getNodeType() {
+            return NodeType.OBJECT;
+        }
+
+        @Override
+        public Node element(int index) {
+            return MISSING_NODE;
+        }
+
+        @Override
+        public Iterator<KeyValue> fields() {
+            final Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+            return new Iterator<KeyValue>() {
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                public KeyValue next() {
+                    Map.Entry<?, ?> entry = iterator.next();
+                    return new KeyValue(String.valueOf(entry.getKey()), nodeBuilder.newNode(entry.getValue()));
+                }
+            };
+        }
+
+        @Override
+        public Node get(String key) {
+            if (acceptsStringKeys() && map.containsKey(key)) {
+                return nodeBuilder.newNode(map.get(key));
+            }
+            // keys that are not Strings
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String) && key.equals(String.valueOf(entry.getKey()))) {
+                    return nodeBuilder.newNode(entry.getValue());
+                }
+            }
+            return MISSING_NODE;
+        }
+
+        /**
+         * Sorted maps with other than String keys throw ClassCastException on lookup by a String.
+         */
+        private boolean acceptsStringKeys() {
+            if (!(map instanceof SortedMap)) {
+                return true;
+            }
+            Iterator<?> keys = map.keySet().iterator();
+            return !keys.hasNext() || keys.next() instanceof String;
+        }
+
+        @Override
+        public String toString() {
+            return objectToString(fields());
+        }
+    }
+
+    private static String objectToString(Iterator<Node.KeyValue> fields) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("{");
+        while (fields.hasNext()) {
+            Node.KeyValue entry = fields.next();
+            builder
+                .append('"').append(entry.getKey()).append('"')
+                .append(":")
+                .append(entry.getValue());
+            if (fields.hasNext()) {
+                builder.append(",");
+            }
+        }
+        builder.append("}");
+        return builder.toString();
+    }
+}
@@ -15,6 +15,11 @@
  */
 package net.javacrumbs.jsonunit.core.internal;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -22,6 +27,21 @@ public final class Path {
     private final String path;
     private final String pathPrefix;
 
+    /**
+     * Parent path and the last step, known only for paths constructed by steps. Keeps field names
+     * that contain dots or brackets unambiguous.
+     */
+    private final Path parent;
+    private final Object step;
+
+    /**
+     * Steps of the full path used for matching, computed lazily.
+     */
+    private Object[] matchSteps;
+    private int prefixStepCount;
+
+    private static final Object[] NOT_SPLIT = new Object[0];
+
     private static final Pattern arrayPattern = Pattern.compile("(.*)\\[(-?\\d+)]");
 
     /**
@@ -30,8 +50,14 @@ public final class Path {
     private static final Pattern dotWithPreviousChar = Pattern.compile("[^\\\\]\\.");
 
     private Path(String path, String pathPrefix) {
+        this(path, pathPrefix, null, null);
+    }
+
+    private Path(String path, String pathPrefix, Path parent, Object step) {
         this.path = path;
         this.pathPrefix = pathPrefix;
+        this.parent = parent;
+        this.step = step;
     }
 
     public static Path root() {
@@ -75,9 +101,9 @@ public final class Path {
      */
     Path toField(String name) {
         if (isRoot()) {
-            return copy(name);
+            return new Path(name, pathPrefix, this, name);
         } else {
-            return copy(path + "." + name);
+            return new Path(path + "." + name, pathPrefix, this, name);
         }
     }
 
@@ -85,7 +111,7 @@ public final class Path {
      * Constructs path to an array element.
      */
     Path toElement(int i) {
-        return copy(path + "[" + i + "]");
+        return new Path(path + "[" + i + "]", pathPrefix, this, i);
     }
 
     /**
@@ -107,6 +133,150 @@ public final class Path {
         return getFullPath();
     }
 
+    /**
+     * Converts the path to JSON Pointer (RFC 6901), so "a.b[1]" becomes "/a/b/1". Steps added by
+     * {@link #toField(String)} are kept as they are, even if the field name contains dots or brackets.
+     */
+    public String toJsonPointer() {
+        StringBuilder pointer = new StringBuilder();
+        appendJsonPointer(pointer);
+        return pointer.toString();
+    }
+
+    private void appendJsonPointer(StringBuilder pointer) {
+        if (parent != null) {
+            parent.appendJsonPointer(pointer);
+            appendPointerStep(pointer, String.valueOf(step));
+        } else {
+            appendPointerSteps(pointer, pathPrefix);
+            appendPointerSteps(pointer, path);
+        }
+    }
+
+    private static void appendPointerSteps(StringBuilder pointer, String path) {
+        if (path.isEmpty()) {
+            return;
+        }
+        for (String step : getSteps(path)) {
+            List<String> indexes = new ArrayList<>();
+            Matcher matcher = arrayPattern.matcher(step);
+            while (matcher.matches()) {
+                indexes.add(0, matcher.group(2));
+                step = matcher.group(1);
+                matcher = arrayPattern.matcher(step);
+            }
+            // "$" is the root of JsonPath expressions
+            if (!step.isEmpty() && !(pointer.length() == 0 && "$".equals(step))) {
+                appendPointerStep(pointer, step);
+            }
+            for (String index : indexes) {
+                appendPointerStep(pointer, index);
+            }
+        }
+    }
+
+    private static void appendPointerStep(StringBuilder pointer, String step) {
+        pointer.append('/').append(step.replace("~", "~0").replace("/", "~1"));
+    }
+
+    /**
+     * Steps of the full path, field names are Strings and array indexes are Integers. Steps added by
+     * {@link #toField(String)} are kept as they are. Returns null if the path can not be split.
+     */
+    Object[] getMatchSteps() {
+        if (matchSteps == null) {
+            if (parent != null) {
+                Object[] parentSteps = parent.getMatchSteps();
+                if (parentSteps == null) {
+                    matchSteps = NOT_SPLIT;
+                } else {
+                    Object[] steps = Arrays.copyOf(parentSteps, parentSteps.length + 1);
+                    steps[parentSteps.length] = step;
+                    prefixStepCount = parent.getPrefixStepCount();
+                    matchSteps = steps;
+                }
+            } else {
+                List<Object> prefixSteps = splitSteps(pathPrefix);
+                List<Object> pathSteps = splitSteps(path);
+                if (prefixSteps == null || pathSteps == null) {
+                    matchSteps = NOT_SPLIT;
+                } else {
+                    prefixSteps.addAll(pathSteps);
+                    prefixStepCount = prefixSteps.size() - pathSteps.size();
+                    matchSteps = prefixSteps.toArray();
+                }
+            }
+        }
+        return matchSteps != NOT_SPLIT ? matchSteps : null;
+    }
+
+    /**
+     * Number of steps of the path prefix, nodes in these steps are not part of the compared document.
+     */
+    int getPrefixStepCount() {
+        getMatchSteps();
+        return prefixStepCount;
+    }
+
+    private static List<Object> splitSteps(String path) {
+        List<Object> steps = new ArrayList<>();
+        int i = path.startsWith("$") ? 1 : 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i++;
+            } else if (c == '[') {
+                int end = path.indexOf(']', i);
+                if (end < 0) {
+                    return null;
+                }
+                try {
+                    steps.add(Integer.parseInt(path.substring(i + 1, end)));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                i = end + 1;
+            } else {
+                int end = i;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                steps.add(path.substring(i, end));
+                i = end;
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Replaces array indexes by [*], so "items[1].price" becomes "items[*].price".
+     */
+    public static String toPattern(String path) {
+        int bracket = path.indexOf('[');
+        if (bracket < 0) {
+            return path;
+        }
+        StringBuilder result = new StringBuilder(path.length());
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '[') {
+                int end = i + 1;
+                while (end < path.length() && (Character.isDigit(path.charAt(end)) || path.charAt(end) == '-')) {
+                    end++;
+                }
+                if (end > i + 1 && end < path.length() && path.charAt(end) == ']') {
+                    result.append("[*]");
+                    i = end + 1;
+                    continue;
+                }
+            }
+            result.append(c);
+            i++;
+        }
+        return result.toString();
+    }
+
     /**
      * Returns node with given path.
      */
@@ -116,15 +286,64 @@ public final class Path {
         }
 
         Node startNode = root;
+        for (String step : getSteps()) {
+            startNode = doStep(step, startNode);
+        }
+        return startNode;
+    }
+
+    /**
+     * Returns nodes with given paths in the same order. The document is traversed only once,
+     * common parts of the paths are navigated only once.
+     */
+    public static List<Node> getNodes(Node root, List<Path> paths) {
+        StepTree tree = new StepTree();
+        for (int i = 0; i < paths.size(); i++) {
+            paths.get(i).addTo(tree).targets.add(i);
+        }
+        Node[] result = new Node[paths.size()];
+        tree.resolve(root, result);
+        return Arrays.asList(result);
+    }
+
+    private StepTree addTo(StepTree tree) {
+        if (isRoot()) {
+            return tree;
+        }
+        StepTree current = tree;
+        for (String step : getSteps()) {
+            Matcher matcher = arrayPattern.matcher(step);
+            if (!matcher.matches()) {
+                current = current.field(step);
+            } else {
+                if (matcher.group(1).length() != 0) {
+                    current = current.field(matcher.group(1));
+                }
+                current = current.element(Integer.parseInt(matcher.group(2)));
+            }
+        }
+        return current;
+    }
+
+    private List<String> getSteps() {
+        return getSteps(path);
+    }
+
+    private static List<String> getSteps(String path) {
+        List<String> steps = new ArrayList<>();
         Matcher pathMatcher = dotWithPreviousChar.matcher(path);
         int pos = 0;
         while (pathMatcher.find()) {
-            String step = path.substring(pos, pathMatcher.end() - 1);
+            steps.add(unescape(path.substring(pos, pathMatcher.end() - 1)));
             pos = pathMatcher.end();
-            startNode = doStep(step, startNode);
         }
-        startNode = doStep(path.substring(pos), startNode);
-        return startNode;
+        steps.add(unescape(path.substring(pos)));
+        return steps;
+    }
+
+    private static String unescape(String step) {
+        // this regexp translates to \\\. which is find one backspace following by a dot
+        return step.replaceAll("\\\\\\.", ".");
     }
 
     private boolean isRoot() {
@@ -132,8 +351,6 @@ public final class Path {
     }
 
     private static Node doStep(String step, Node startNode) {
-        // this regexp translates to \\\. which is find one backspace following by a dot
-        step = step.replaceAll("\\\\\\.", ".");
         Matcher matcher = arrayPattern.matcher(step);
         if (!matcher.matches()) {
             startNode = startNode.get(step);
@@ -141,14 +358,45 @@ public final class Path {
             if (matcher.group(1).length() != 0) {
                 startNode = startNode.get(matcher.group(1));
             }
+            startNode = element(startNode, Integer.parseInt(matcher.group(2)));
+        }
+        return startNode;
+    }
 
-            int index = Integer.parseInt(matcher.group(2));
-            if (index < 0) {
-                startNode = startNode.element(startNode.size() + index);
-            } else {
-                startNode = startNode.element(index);
+    private static Node element(Node node, int index) {
+        if (index < 0) {
+            return node.element(node.size() + index);
+        } else {
+            return node.element(index);
+        }
+    }
+
+    /**
+     * Paths to be resolved, organized by steps.
+     */
+    private static final class StepTree {
+        private final Map<String, StepTree> fields = new LinkedHashMap<>();
+        private final Map<Integer, StepTree> elements = new LinkedHashMap<>();
+        private final List<Integer> targets = new ArrayList<>();
+
+        StepTree field(String name) {
+            return fields.computeIfAbsent(name, n -> new StepTree());
+        }
+
+        StepTree element(int index) {
+            return elements.computeIfAbsent(index, i -> new StepTree());
+        }
+
+        void resolve(Node node, Node[] result) {
+            for (int target : targets) {
+                result[target] = node;
+            }
+            for (Map.Entry<String, StepTree> field : fields.entrySet()) {
+                field.getValue().resolve(node.get(field.getKey()), result);
+            }
+            for (Map.Entry<Integer, StepTree> element : elements.entrySet()) {
+                element.getValue().resolve(Path.element(node, element.getKey()), result);
             }
         }
-        return startNode;
     }
 }
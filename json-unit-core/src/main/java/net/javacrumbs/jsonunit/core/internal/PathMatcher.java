@@ -15,6 +15,8 @@
  */
 package net.javacrumbs.jsonunit.core.internal;
 
+import net.javacrumbs.jsonunit.core.internal.JsonPathExpression.NodePath;
+
 import java.util.Collection;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -31,6 +33,13 @@ abstract class PathMatcher {
 
     abstract boolean matches(String pathToMatch);
 
+    /**
+     * Matches path of a compared node, actual nodes on the path are used by JSONPath filters and negative indexes.
+     */
+    boolean matches(NodePath pathToMatch) {
+        return matches(pathToMatch.getFullPath());
+    }
+
     static PathMatcher create(Collection<String> paths) {
         if (paths == null || paths.isEmpty()) {
             return EMPTY;
@@ -40,7 +49,10 @@ abstract class PathMatcher {
     }
 
     static PathMatcher create(String path) {
-        if (path.contains("[*]")) {
+        JsonPathExpression expression = JsonPathExpression.compile(path);
+        if (expression != null) {
+            return new JsonPathMatcher(expression);
+        } else if (path.contains("[*]")) {
             return new ArrayWildcardMatcher(path);
         } else {
             return new SimplePathMatcher(path);
@@ -60,6 +72,27 @@ abstract class PathMatcher {
         }
     }
 
+    /**
+     * Matches JSONPath like $..a or $.array[?(@.type == 'x')] during the comparison.
+     */
+    private static class JsonPathMatcher extends PathMatcher {
+        private final JsonPathExpression expression;
+
+        JsonPathMatcher(JsonPathExpression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        boolean matches(String pathToMatch) {
+            return matches(new NodePath(Path.create(pathToMatch), null));
+        }
+
+        @Override
+        boolean matches(NodePath pathToMatch) {
+            return expression.matches(pathToMatch);
+        }
+    }
+
     /**
      * Matches array[*].something to array[1].something
      */
@@ -106,5 +139,15 @@ abstract class PathMatcher {
         boolean matches(String path) {
             return pathMatchers.stream().anyMatch(pm -> pm.matches(path));
         }
+
+        @Override
+        boolean matches(NodePath path) {
+            for (PathMatcher pathMatcher : pathMatchers) {
+                if (pathMatcher.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
     }
 }
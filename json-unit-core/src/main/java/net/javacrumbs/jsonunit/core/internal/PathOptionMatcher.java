@@ -2,6 +2,7 @@ package net.javacrumbs.jsonunit.core.internal;
 
 
 import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.internal.JsonPathExpression.NodePath;
 
 import java.util.Collection;
 import java.util.stream.Stream;
@@ -26,7 +27,7 @@ class PathOptionMatcher {
             .map(option -> new PathOptionMatcher(pathOption.getPaths(), option, pathOption.isIncluded()));
     }
 
-    public boolean matches(String path) {
+    boolean matches(NodePath path) {
         return pathMatcher.matches(path);
     }
 
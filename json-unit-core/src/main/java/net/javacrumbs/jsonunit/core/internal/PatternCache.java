@@ -0,0 +1,34 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import java.util.regex.Pattern;
+
+/**
+ * Thread-safe LRU cache of compiled ${json-unit.regex} patterns shared by all comparisons. The same pattern is
+ * usually used for many array elements and in many tests, it's enough to compile it only once.
+ * The size can be changed by "json-unit.regex-cache.size" system property.
+ */
+final class PatternCache {
+    private static final LruCache<String, Pattern> PATTERNS = new LruCache<>(Integer.getInteger("json-unit.regex-cache.size", 256));
+
+    private PatternCache() {
+    }
+
+    static Pattern compile(String regex) {
+        return PATTERNS.computeIfAbsent(regex, Pattern::compile);
+    }
+}
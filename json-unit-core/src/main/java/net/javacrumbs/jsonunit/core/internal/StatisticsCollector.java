@@ -0,0 +1,143 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.core.listener.DiffStatistics;
+import net.javacrumbs.jsonunit.core.listener.Difference;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects {@link DiffStatistics} while the documents are compared.
+ */
+class StatisticsCollector {
+    private static final int TOP_PATHS = 10;
+
+    private final int maxArrayElements;
+    private long comparedLeaves;
+    private long differentLeaves;
+    private long missingLeaves;
+    private long extraLeaves;
+    private boolean sampled;
+    private final Map<String, Long> pathCounts = new HashMap<>();
+
+    StatisticsCollector(int maxArrayElements) {
+        this.maxArrayElements = maxArrayElements;
+    }
+
+    /**
+     * Number of elements to be compared. If the array is larger, only a sample of elements is compared.
+     */
+    int sampleSize(int arraySize) {
+        if (arraySize > maxArrayElements) {
+            sampled = true;
+            return maxArrayElements;
+        }
+        return arraySize;
+    }
+
+    /**
+     * Index of the n-th compared element. The array is split to sampleSize buckets and one element
+     * is picked from each bucket. The position in the bucket depends only on n, so the sample is deterministic,
+     * but it does not follow regular patterns in the data.
+     */
+    static int sampledIndex(int n, int sampleSize, int arraySize) {
+        int bucketStart = (int) ((long) n * arraySize / sampleSize);
+        int bucketEnd = (int) ((long) (n + 1) * arraySize / sampleSize);
+        int hash = n * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return bucketStart + Math.floorMod(hash, bucketEnd - bucketStart);
+    }
+
+    void leafCompared() {
+        comparedLeaves++;
+    }
+
+    void equalSubtree(Node node) {
+        comparedLeaves += countLeaves(node);
+    }
+
+    void difference(Difference.Type type, Context context) {
+        switch (type) {
+            case MISSING:
+                missingLeaves += countLeaves(context.getExpectedNode());
+                break;
+            case EXTRA:
+                extraLeaves += countLeaves(context.getActualNode());
+                break;
+            case DIFFERENT:
+                if (isLeaf(context.getExpectedNode())) {
+                    differentLeaves++;
+                } else {
+                    // different type, leaves of the expected node were not compared
+                    long leaves = countLeaves(context.getExpectedNode());
+                    comparedLeaves += leaves;
+                    differentLeaves += leaves;
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected difference type " + type);
+        }
+        Path path = type == Difference.Type.MISSING ? context.getExpectedPath() : context.getActualPath();
+        pathCounts.merge(Path.toPattern(path.getFullPath()), 1L, Long::sum);
+    }
+
+    DiffStatistics toStatistics() {
+        Map<String, Long> topPaths = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, Long>> sortedPaths = pathCounts.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+            .limit(TOP_PATHS)
+            .iterator();
+        while (sortedPaths.hasNext()) {
+            Map.Entry<String, Long> path = sortedPaths.next();
+            topPaths.put(path.getKey(), path.getValue());
+        }
+        return new DiffStatistics(comparedLeaves - differentLeaves, differentLeaves, missingLeaves, extraLeaves, topPaths, sampled);
+    }
+
+    static boolean isLeaf(Node node) {
+        Node.NodeType type = node.getNodeType();
+        return type != Node.NodeType.OBJECT && type != Node.NodeType.ARRAY;
+    }
+
+    static long countLeaves(Node node) {
+        if (node == null || node.isMissingNode()) {
+            return 0;
+        }
+        switch (node.getNodeType()) {
+            case OBJECT:
+                long objectLeaves = 0;
+                Iterator<Node.KeyValue> fields = node.fields();
+                while (fields.hasNext()) {
+                    objectLeaves += countLeaves(fields.next().getValue());
+                }
+                return objectLeaves;
+            case ARRAY:
+                long arrayLeaves = 0;
+                Iterator<Node> elements = node.arrayElements();
+                while (elements.hasNext()) {
+                    arrayLeaves += countLeaves(elements.next());
+                }
+                return arrayLeaves;
+            default:
+                return 1;
+        }
+    }
+}
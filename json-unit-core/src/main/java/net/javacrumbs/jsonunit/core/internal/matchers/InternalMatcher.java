@@ -20,6 +20,7 @@ import net.javacrumbs.jsonunit.core.ConfigurationWhen;
 import net.javacrumbs.jsonunit.core.ConfigurationWhen.ApplicableForPath;
 import net.javacrumbs.jsonunit.core.ConfigurationWhen.PathsParam;
 import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.PathExpectation;
 import net.javacrumbs.jsonunit.core.internal.Diff;
 import net.javacrumbs.jsonunit.core.internal.Node;
 import net.javacrumbs.jsonunit.core.internal.Path;
@@ -30,10 +31,12 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import static net.javacrumbs.jsonunit.core.Option.COMPARING_ONLY_STRUCTURE;
 import static net.javacrumbs.jsonunit.core.internal.Diff.create;
 import static net.javacrumbs.jsonunit.core.internal.Diff.quoteTextValue;
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.getNode;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.nodeAbsent;
 import static net.javacrumbs.jsonunit.core.internal.Node.NodeType.ARRAY;
@@ -50,15 +53,16 @@ public final class InternalMatcher {
     public static final String ACTUAL = "actual";
 
     private final Path path;
-    private final Object actual;
+    private final ActualDocument actual;
     private final String description;
     private final Configuration configuration;
 
 
     public InternalMatcher(Object actual, Path path, String description, Configuration configuration) {
-        if (actual == null) {
-            throw new IllegalArgumentException("Can not make assertions about null JSON.");
-        }
+        this(new ActualDocument(actual), path, description, configuration);
+    }
+
+    private InternalMatcher(ActualDocument actual, Path path, String description, Configuration configuration) {
         this.path = path;
         this.actual = actual;
         this.description = description;
@@ -154,7 +158,7 @@ public final class InternalMatcher {
      */
     public void isStringEqualTo(String expected) {
         isString();
-        Node node = getNode(actual, path);
+        Node node = getNode(actual.getRoot(), path);
         if (!node.asText().equals(expected)) {
             failOnDifference(quoteTextValue(expected), quoteTextValue(node.asText()));
         }
@@ -207,7 +211,7 @@ public final class InternalMatcher {
 
 
     private Diff createDiff(Object expected, Configuration configuration) {
-        return create(expected, actual, ACTUAL, path, configuration);
+        return create(expected, actual.getRoot(), ACTUAL, path, configuration);
     }
 
     private void failWithMessage(String message) {
@@ -225,8 +229,8 @@ public final class InternalMatcher {
      * @return
      */
     public void isAbsent() {
-        if (!nodeAbsent(actual, path, configuration)) {
-            failOnDifference("node to be absent", quoteTextValue(getNode(actual, path)));
+        if (!nodeAbsent(actual.getRoot(), path, configuration)) {
+            failOnDifference("node to be absent", quoteTextValue(getNode(actual.getRoot(), path)));
         }
     }
 
@@ -238,7 +242,7 @@ public final class InternalMatcher {
     }
 
     public void isPresent(String expectedValue) {
-        if (nodeAbsent(actual, path, configuration)) {
+        if (nodeAbsent(actual.getRoot(), path, configuration)) {
             failOnDifference(expectedValue, "missing");
         }
     }
@@ -255,7 +259,7 @@ public final class InternalMatcher {
 
     public Node assertType(Node.NodeType type) {
         isPresent(type.getDescription());
-        Node node = getNode(actual, path);
+        Node node = getNode(actual.getRoot(), path);
         if (node.getNodeType() != type) {
             failOnType(node, type);
         }
@@ -278,7 +282,7 @@ public final class InternalMatcher {
 
     public void isNull() {
         isPresent();
-        Node node = getNode(actual, path);
+        Node node = getNode(actual.getRoot(), path);
         if (node.getNodeType() != NULL) {
             failOnType(node, "a null");
         }
@@ -286,7 +290,7 @@ public final class InternalMatcher {
 
     public void isNotNull() {
         isPresent("not null");
-        Node node = getNode(actual, path);
+        Node node = getNode(actual.getRoot(), path);
         if (node.getNodeType() == NULL) {
             failOnType(node, "not null");
         }
@@ -315,15 +319,113 @@ public final class InternalMatcher {
      */
     public void matches(Matcher<?> matcher) {
         isPresent();
-        match(actual, path, matcher);
+        match(actual.getRoot(), path, matcher);
     }
 
-    private static void match(Object value, Path path, Matcher<?> matcher) {
-        Node node = getNode(value, path);
+    /**
+     * Checks expectations for multiple paths relative to the current node. The document is traversed only once
+     * and all the failures are reported together.
+     *
+     * @param expectations path to expectation, see {@link PathExpectation#of(Object)}
+     */
+    public void hasPaths(Map<String, ?> expectations) {
+        List<Path> paths = new ArrayList<>(expectations.size());
+        for (String key : expectations.keySet()) {
+            paths.add(path.to(key));
+        }
+        List<Node> nodes = Path.getNodes(actual.getRoot(), paths);
+
+        List<String> failures = new ArrayList<>();
+        int i = 0;
+        for (Object expected : expectations.values()) {
+            Path nodePath = paths.get(i);
+            InternalMatcher nodeMatcher = new InternalMatcher(new ActualDocument(nodes.get(i)), nodePath.asPrefix(), "", configuration);
+            try {
+                nodeMatcher.check(PathExpectation.of(expected));
+            } catch (AssertionError e) {
+                failures.add(e.getMessage());
+            }
+            i++;
+        }
+        if (!failures.isEmpty()) {
+            failWithMessage(String.join("\n", failures));
+        }
+    }
+
+    private void check(PathExpectation expectation) {
+        switch (expectation.getType()) {
+            case EQUAL_TO:
+                isEqualTo(expectation.getExpected());
+                break;
+            case STRING_EQUAL_TO:
+                isStringEqualTo((String) expectation.getExpected());
+                break;
+            case MATCHES:
+                matches((Matcher<?>) expectation.getExpected());
+                break;
+            case PRESENT:
+                isPresent();
+                break;
+            case ABSENT:
+                isAbsent();
+                break;
+            case NULL:
+                isNull();
+                break;
+            case NOT_NULL:
+                isNotNull();
+                break;
+            case OBJECT:
+                isObject();
+                break;
+            case ARRAY:
+                isArray();
+                break;
+            case STRING:
+                isString();
+                break;
+            case NUMBER:
+                assertType(Node.NodeType.NUMBER);
+                break;
+            case BOOLEAN:
+                assertType(Node.NodeType.BOOLEAN);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected expectation " + expectation.getType());
+        }
+    }
+
+    private static void match(Node root, Path path, Matcher<?> matcher) {
+        Node node = getNode(root, path);
         assertThat("Node \"" + path + "\" does not match.", node.getValue(), (Matcher<? super Object>) matcher);
     }
 
 
+    /**
+     * Actual value shared by all the matchers derived from the same assertion. The value is parsed
+     * on first access so chained assertions like node("a").isPresent() do not parse the document repeatedly.
+     */
+    private static final class ActualDocument {
+        private final Object source;
+        private volatile Node root;
+
+        ActualDocument(Object source) {
+            if (source == null) {
+                throw new IllegalArgumentException("Can not make assertions about null JSON.");
+            }
+            this.source = source;
+        }
+
+        Node getRoot() {
+            Node result = root;
+            if (result == null) {
+                result = convertToJson(source, ACTUAL);
+                root = result;
+            }
+            return result;
+        }
+    }
+
     /**
      * Array assertions
      */
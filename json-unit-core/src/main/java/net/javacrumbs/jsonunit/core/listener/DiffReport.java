@@ -0,0 +1,322 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.listener;
+
+import net.javacrumbs.jsonunit.core.listener.Difference.Type;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.appendJsonString;
+
+/**
+ * Immutable report of differences between documents. Contains the differences in the order they were found
+ * and their counts per type and per path. The report can be serialized to JSON or to JSON Patch (RFC 6902)
+ * without building the whole string in memory.
+ */
+public final class DiffReport {
+    private final List<Entry> entries;
+    private final Map<Type, Integer> countsByType;
+    private final Map<String, Integer> countsByPath;
+
+    private DiffReport(List<Entry> entries) {
+        Map<Type, Integer> countsByType = new EnumMap<>(Type.class);
+        for (Type type : Type.values()) {
+            countsByType.put(type, 0);
+        }
+        Map<String, Integer> countsByPath = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            countsByType.merge(entry.getType(), 1, Integer::sum);
+            countsByPath.merge(entry.getPath(), 1, Integer::sum);
+        }
+        this.entries = Collections.unmodifiableList(entries);
+        this.countsByType = Collections.unmodifiableMap(countsByType);
+        this.countsByPath = Collections.unmodifiableMap(countsByPath);
+    }
+
+    /**
+     * Creates report from differences.
+     */
+    public static DiffReport create(Iterator<? extends Difference> differences) {
+        List<Entry> entries = new ArrayList<>();
+        while (differences.hasNext()) {
+            entries.add(new Entry(differences.next()));
+        }
+        return new DiffReport(entries);
+    }
+
+    /**
+     * Creates report from differences.
+     */
+    public static DiffReport create(Iterable<? extends Difference> differences) {
+        return create(differences.iterator());
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCount(Type type) {
+        return countsByType.get(type);
+    }
+
+    /**
+     * Number of differences of each type.
+     */
+    public Map<Type, Integer> getCountsByType() {
+        return countsByType;
+    }
+
+    /**
+     * Number of differences per path, in order in which the paths were found.
+     */
+    public Map<String, Integer> getCountsByPath() {
+        return countsByPath;
+    }
+
+    /**
+     * Writes the report as JSON
+     * <code>
+     * {"counts":{"EXTRA":0,"MISSING":1,"DIFFERENT":0},"differences":[{"type":"MISSING","expectedPath":"a","expected":1}]}
+     * </code>
+     */
+    public void writeJson(Appendable out) throws IOException {
+        out.append("{\"counts\":{");
+        Iterator<Map.Entry<Type, Integer>> counts = countsByType.entrySet().iterator();
+        while (counts.hasNext()) {
+            Map.Entry<Type, Integer> count = counts.next();
+            appendJsonString(out, count.getKey().name());
+            out.append(':').append(String.valueOf(count.getValue()));
+            if (counts.hasNext()) {
+                out.append(',');
+            }
+        }
+        out.append("},\"differences\":[");
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            entries.get(i).writeJson(out);
+        }
+        out.append("]}");
+    }
+
+    public String toJson() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            writeJson(builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes JSON Patch (RFC 6902) that transforms the expected document to the actual one.
+     * Different values are replaced first, then missing values are removed (from the last one, so array indexes
+     * stay valid) and then extra values are added. The patch is not usable if the documents were compared with
+     * {@link net.javacrumbs.jsonunit.core.Option#IGNORING_ARRAY_ORDER}.
+     */
+    public void writeJsonPatch(Appendable out) throws IOException {
+        out.append('[');
+        boolean first = true;
+        for (Entry entry : entries) {
+            if (entry.getType() == Type.DIFFERENT) {
+                first = writeOperation(out, first, "replace", entry.getExpectedJsonPointer(), entry.getActual());
+            }
+        }
+        ListIterator<Entry> reversed = entries.listIterator(entries.size());
+        while (reversed.hasPrevious()) {
+            Entry entry = reversed.previous();
+            if (entry.getType() == Type.MISSING) {
+                out.append(first ? "" : ",").append("{\"op\":\"remove\",\"path\":");
+                appendJsonString(out, entry.getExpectedJsonPointer());
+                out.append('}');
+                first = false;
+            }
+        }
+        for (Entry entry : entries) {
+            if (entry.getType() == Type.EXTRA) {
+                first = writeOperation(out, first, "add", entry.getActualJsonPointer(), entry.getActual());
+            }
+        }
+        out.append(']');
+    }
+
+    public String toJsonPatch() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            writeJsonPatch(builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    private static boolean writeOperation(Appendable out, boolean first, String operation, String pointer, Object value) throws IOException {
+        if (!first) {
+            out.append(',');
+        }
+        out.append("{\"op\":\"").append(operation).append("\",\"path\":");
+        appendJsonString(out, pointer);
+        out.append(",\"value\":");
+        writeValue(out, value);
+        out.append('}');
+        return false;
+    }
+
+    private static void writeValue(Appendable out, Object value) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String) {
+            appendJsonString(out, (String) value);
+        } else if (value instanceof Map) {
+            out.append('{');
+            Iterator<? extends Map.Entry<?, ?>> fields = ((Map<?, ?>) value).entrySet().iterator();
+            while (fields.hasNext()) {
+                Map.Entry<?, ?> field = fields.next();
+                appendJsonString(out, String.valueOf(field.getKey()));
+                out.append(':');
+                writeValue(out, field.getValue());
+                if (fields.hasNext()) {
+                    out.append(',');
+                }
+            }
+            out.append('}');
+        } else if (value instanceof Iterable) {
+            out.append('[');
+            Iterator<?> elements = ((Iterable<?>) value).iterator();
+            while (elements.hasNext()) {
+                writeValue(out, elements.next());
+                if (elements.hasNext()) {
+                    out.append(',');
+                }
+            }
+            out.append(']');
+        } else {
+            // numbers and booleans
+            out.append(value.toString());
+        }
+    }
+
+    /**
+     * One difference in the report.
+     */
+    public static final class Entry implements Difference {
+        private final Type type;
+        private final String actualPath;
+        private final String expectedPath;
+        private final String actualJsonPointer;
+        private final String expectedJsonPointer;
+        private final Object actual;
+        private final Object expected;
+
+        Entry(Difference difference) {
+            this.type = difference.getType();
+            this.actualPath = difference.getActualPath();
+            this.expectedPath = difference.getExpectedPath();
+            this.actualJsonPointer = difference.getActualJsonPointer();
+            this.expectedJsonPointer = difference.getExpectedJsonPointer();
+            this.actual = difference.getActual();
+            this.expected = difference.getExpected();
+        }
+
+        @Override
+        public Type getType() {
+            return type;
+        }
+
+        @Override
+        public String getActualPath() {
+            return actualPath;
+        }
+
+        @Override
+        public String getExpectedPath() {
+            return expectedPath;
+        }
+
+        @Override
+        public String getActualJsonPointer() {
+            return actualJsonPointer;
+        }
+
+        @Override
+        public String getExpectedJsonPointer() {
+            return expectedJsonPointer;
+        }
+
+        /**
+         * Actual path or expected path if the value is missing.
+         */
+        public String getPath() {
+            return actualPath != null ? actualPath : expectedPath;
+        }
+
+        @Override
+        public Object getActual() {
+            return actual;
+        }
+
+        @Override
+        public Object getExpected() {
+            return expected;
+        }
+
+        private void writeJson(Appendable out) throws IOException {
+            out.append("{\"type\":\"").append(type.name()).append('"');
+            if (type != Type.EXTRA) {
+                out.append(",\"expectedPath\":");
+                appendJsonString(out, expectedPath);
+                out.append(",\"expected\":");
+                writeValue(out, expected);
+            }
+            if (type != Type.MISSING) {
+                out.append(",\"actualPath\":");
+                appendJsonString(out, actualPath);
+                out.append(",\"actual\":");
+                writeValue(out, actual);
+            }
+            out.append('}');
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + getPath();
+        }
+    }
+}
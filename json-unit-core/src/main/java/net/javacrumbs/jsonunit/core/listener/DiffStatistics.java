@@ -0,0 +1,91 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.listener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Comparison statistics. Counts leaf values (strings, numbers, booleans and nulls) that are equal,
+ * different, missing or extra, and the paths where the most differences were found. Array indexes in the paths
+ * are replaced by [*].
+ */
+public final class DiffStatistics {
+    private final long equalLeaves;
+    private final long differentLeaves;
+    private final long missingLeaves;
+    private final long extraLeaves;
+    private final Map<String, Long> topDifferencePaths;
+    private final boolean sampled;
+
+    public DiffStatistics(long equalLeaves, long differentLeaves, long missingLeaves, long extraLeaves, Map<String, Long> topDifferencePaths, boolean sampled) {
+        this.equalLeaves = equalLeaves;
+        this.differentLeaves = differentLeaves;
+        this.missingLeaves = missingLeaves;
+        this.extraLeaves = extraLeaves;
+        this.topDifferencePaths = Collections.unmodifiableMap(new LinkedHashMap<>(topDifferencePaths));
+        this.sampled = sampled;
+    }
+
+    public long getEqualLeaves() {
+        return equalLeaves;
+    }
+
+    public long getDifferentLeaves() {
+        return differentLeaves;
+    }
+
+    public long getMissingLeaves() {
+        return missingLeaves;
+    }
+
+    public long getExtraLeaves() {
+        return extraLeaves;
+    }
+
+    public long getTotalLeaves() {
+        return equalLeaves + differentLeaves + missingLeaves + extraLeaves;
+    }
+
+    /**
+     * Fraction of equal leaves, 1.0 if the documents are equal or empty.
+     */
+    public double getEqualFraction() {
+        long total = getTotalLeaves();
+        return total == 0 ? 1.0 : (double) equalLeaves / total;
+    }
+
+    /**
+     * Paths with the most differences, the path with the highest number of differences first.
+     */
+    public Map<String, Long> getTopDifferencePaths() {
+        return topDifferencePaths;
+    }
+
+    /**
+     * True if only some elements of large arrays were compared.
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    @Override
+    public String toString() {
+        return "equal: " + equalLeaves + ", different: " + differentLeaves + ", missing: " + missingLeaves + ", extra: " + extraLeaves
+            + (sampled ? " (sampled)" : "") + ", top paths: " + topDifferencePaths;
+    }
+}
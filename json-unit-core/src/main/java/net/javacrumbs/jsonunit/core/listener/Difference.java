@@ -15,6 +15,8 @@
  */
 package net.javacrumbs.jsonunit.core.listener;
 
+import net.javacrumbs.jsonunit.core.internal.Path;
+
 /**
  * Describes differences between documents.
  */
@@ -31,6 +33,20 @@ public interface Difference {
      */
     String getExpectedPath();
 
+    /**
+     * Path to the difference as JSON Pointer (RFC 6901), null if the actual value is missing.
+     */
+    default String getActualJsonPointer() {
+        return getActualPath() != null ? Path.create(getActualPath()).toJsonPointer() : null;
+    }
+
+    /**
+     * Path to the expected element as JSON Pointer (RFC 6901), null if the expected value is missing.
+     */
+    default String getExpectedJsonPointer() {
+        return getExpectedPath() != null ? Path.create(getExpectedPath()).toJsonPointer() : null;
+    }
+
     /**
      * Actual node serialized as Map&lt;String, Object&gt; for objects, BigDecimal for numbers, ...
      */
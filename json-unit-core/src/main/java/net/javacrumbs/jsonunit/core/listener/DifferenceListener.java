@@ -21,4 +21,13 @@ package net.javacrumbs.jsonunit.core.listener;
  */
 public interface DifferenceListener {
     void diff(Difference difference, DifferenceContext context);
+
+    /**
+     * If true, the listener gets all differences even if the number of differences reported in the
+     * failure is limited by {@link net.javacrumbs.jsonunit.core.Configuration#withMaxDifferences(int)}.
+     * In such case the whole documents have to be compared.
+     */
+    default boolean receivesAllDifferences() {
+        return false;
+    }
 }
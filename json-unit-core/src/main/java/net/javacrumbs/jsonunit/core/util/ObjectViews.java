@@ -0,0 +1,42 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.util;
+
+import net.javacrumbs.jsonunit.core.internal.JsonUtils;
+
+/**
+ * Lazy views of Java objects. By default, objects passed to JsonUnit are converted to JSON tree by the underlying
+ * library (Jackson, Gson, ...) before they are compared. For big object graphs it may be cheaper to compare the objects
+ * directly:
+ * <code>
+ * assertThatJson(objectView(order)).isEqualTo(resource("order.json"));
+ * </code>
+ * Maps, collections, arrays, records and beans (public getters and public fields) are read only when the comparison
+ * gets to them, accessors are resolved once per class. Other values like numbers, dates or enums are converted by the
+ * underlying library. Library specific annotations (e.g. {@code @JsonProperty}) are not taken into account.
+ */
+public final class ObjectViews {
+    private ObjectViews() {
+
+    }
+
+    /**
+     * Wraps the object to a lazy view that can be passed to JsonUnit as actual or expected value.
+     */
+    public static Object objectView(Object object) {
+        return JsonUtils.wrapObject(object);
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.util;
+
+import net.javacrumbs.jsonunit.core.internal.JsonUtils;
+import net.javacrumbs.jsonunit.core.internal.LruCache;
+import net.javacrumbs.jsonunit.core.internal.Node;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe LRU cache of parsed classpath resources. Expected values are usually read from the same
+ * fixture in many tests, it's enough to parse them only once. Parsed values are never modified by JsonUnit
+ * so they can be shared by tests running in parallel.
+ * <p>
+ * The default instance used by {@link ResourceUtils#parsedResource(String)} keeps up to 256 resources,
+ * the limit can be changed by "json-unit.resource-cache.size" system property. If "json-unit.resource-cache.check-modified"
+ * is set to true, resources loaded from a directory are re-read when their modification time changes.
+ */
+public final class ResourceCache {
+    static final String SIZE_PROPERTY_NAME = "json-unit.resource-cache.size";
+    static final String CHECK_MODIFIED_PROPERTY_NAME = "json-unit.resource-cache.check-modified";
+    private static final int DEFAULT_SIZE = 256;
+
+    private static final ResourceCache DEFAULT = new ResourceCache(
+        Integer.getInteger(SIZE_PROPERTY_NAME, DEFAULT_SIZE),
+        Boolean.getBoolean(CHECK_MODIFIED_PROPERTY_NAME)
+    );
+
+    private final boolean checkModified;
+    private final LruCache<String, CachedResource> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maximumSize   maximal number of parsed resources kept in the cache
+     * @param checkModified if true, resources are re-read when their modification time changes
+     */
+    public ResourceCache(int maximumSize, boolean checkModified) {
+        this.entries = new LruCache<>(maximumSize);
+        this.checkModified = checkModified;
+    }
+
+    /**
+     * Cache used by {@link ResourceUtils#parsedResource(String)}.
+     */
+    public static ResourceCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns parsed resource. The resource is read and parsed only if it's not cached yet.
+     */
+    public Node get(String resourceName) {
+        if (resourceName == null) {
+            throw new NullPointerException("'null' passed instead of resource name");
+        }
+        long lastModified = checkModified ? lastModified(resourceName) : 0;
+        CachedResource entry = entries.get(resourceName);
+        if (entry != null && entry.lastModified == lastModified) {
+            hits.increment();
+            return entry.node;
+        }
+
+        misses.increment();
+        Node node = JsonUtils.convertToJson(ResourceUtils.resource(resourceName), "expected", true);
+        entries.put(resourceName, new CachedResource(node, lastModified));
+        return node;
+    }
+
+    /**
+     * Removes all cached resources. Statistics are kept.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Number of cached resources.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), entries.getEvictionCount());
+    }
+
+    private static long lastModified(String resourceName) {
+        URL url = ClassLoader.getSystemResource(resourceName);
+        if (url != null && "file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI()).lastModified();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static final class CachedResource {
+        private final Node node;
+        private final long lastModified;
+
+        private CachedResource(Node node, long lastModified) {
+            this.node = node;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Cache statistics snapshot.
+     */
+    public static final class Statistics {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+
+        Statistics(long hitCount, long missCount, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        @Override
+        public String toString() {
+            return "hits: " + hitCount + ", misses: " + missCount + ", evictions: " + evictionCount;
+        }
+    }
+}
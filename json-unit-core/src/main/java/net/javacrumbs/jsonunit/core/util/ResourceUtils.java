@@ -44,6 +44,14 @@ public class ResourceUtils {
         return new BufferedReader(new InputStreamReader(resourceStream));
     }
 
+    /**
+     * Reads and parses a classpath resource. Parsed resources are cached in {@link ResourceCache#getDefault()},
+     * so the same resource used in many tests is parsed only once.
+     */
+    public static Object parsedResource(String resourceName) {
+        return ResourceCache.getDefault().get(resourceName);
+    }
+
     static void closeQuietly(final Reader resourceReader) {
         if (resourceReader != null) {
             try {
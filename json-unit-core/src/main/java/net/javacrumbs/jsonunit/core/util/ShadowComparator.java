@@ -0,0 +1,277 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.util;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.internal.Diff;
+import net.javacrumbs.jsonunit.core.internal.Path;
+import net.javacrumbs.jsonunit.core.listener.DiffStatistics;
+import net.javacrumbs.jsonunit.core.listener.Difference;
+import net.javacrumbs.jsonunit.core.listener.DifferenceContext;
+import net.javacrumbs.jsonunit.core.listener.DifferenceListener;
+
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares responses of a primary and a shadow system in background threads and aggregates the differences.
+ * Differences are counted per path pattern, array indexes are replaced by [*] so differences in
+ * "items[1].price" and "items[2].price" are both counted as "items[*].price".
+ * <p>
+ * The comparator is meant to be shared by all request threads. Counters are not guarded by any lock and
+ * only statistics are collected, no difference messages are created. The number of comparisons that are
+ * queued or running is limited, if the limit is reached, new pairs are dropped and counted.
+ * <pre>
+ * ShadowComparator comparator = new ShadowComparator(configuration, 2, 1000);
+ * ...
+ * comparator.submit(primaryResponse, shadowResponse);
+ * ...
+ * comparator.getStatistics().getDifferencesByPath();
+ * </pre>
+ */
+public final class ShadowComparator implements AutoCloseable {
+    private static final int MAX_PATHS = 10_000;
+
+    private final Configuration configuration;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+
+    private final LongAdder comparedPairs = new LongAdder();
+    private final LongAdder differentPairs = new LongAdder();
+    private final LongAdder droppedPairs = new LongAdder();
+    private final LongAdder failedPairs = new LongAdder();
+    private final LongAdder equalLeaves = new LongAdder();
+    private final LongAdder differentLeaves = new LongAdder();
+    private final LongAdder missingLeaves = new LongAdder();
+    private final LongAdder extraLeaves = new LongAdder();
+    private final LongAdder untrackedDifferences = new LongAdder();
+    private final Map<String, LongAdder> differencesByPath = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration configuration used for all comparisons. Its difference listener is called as well, from multiple threads.
+     * @param threads       number of threads comparing the documents
+     * @param maxQueued     maximal number of pairs waiting for comparison, pairs over the limit are dropped
+     */
+    public ShadowComparator(Configuration configuration, int threads, int maxQueued) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Number of threads has to be positive");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Queue size can not be negative");
+        }
+        this.configuration = configuration.withDifferenceListener(new CountingListener(configuration.getDifferenceListener()));
+        this.inFlight = new Semaphore(threads + maxQueued);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "json-unit-shadow-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules comparison of the pair. Returns false if the pair has been dropped because
+     * too many pairs are waiting for comparison.
+     */
+    public boolean submit(Object primary, Object shadow) {
+        if (!inFlight.tryAcquire()) {
+            droppedPairs.increment();
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    compare(primary, shadow);
+                } finally {
+                    inFlight.release();
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            // rejected after close
+            inFlight.release();
+            droppedPairs.increment();
+            return false;
+        }
+    }
+
+    /**
+     * Compares the pair in the calling thread. Returns true if the documents are similar.
+     * Documents that can not be parsed are counted as failed.
+     */
+    public boolean compare(Object primary, Object shadow) {
+        DiffStatistics statistics;
+        try {
+            statistics = Diff.create(primary, shadow, "shadow", "", configuration).statistics();
+        } catch (RuntimeException e) {
+            failedPairs.increment();
+            return false;
+        }
+        comparedPairs.increment();
+        equalLeaves.add(statistics.getEqualLeaves());
+        differentLeaves.add(statistics.getDifferentLeaves());
+        missingLeaves.add(statistics.getMissingLeaves());
+        extraLeaves.add(statistics.getExtraLeaves());
+        boolean similar = statistics.getTopDifferencePaths().isEmpty();
+        if (!similar) {
+            differentPairs.increment();
+        }
+        return similar;
+    }
+
+    /**
+     * Snapshot of the counters. Counters are updated concurrently, so the snapshot does not have to be consistent
+     * if comparisons are running.
+     */
+    public Statistics getStatistics() {
+        Map<String, Long> paths = new LinkedHashMap<>();
+        differencesByPath.entrySet().stream()
+            .map(entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()))
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()).thenComparing(Map.Entry.comparingByKey()))
+            .forEachOrdered(entry -> paths.put(entry.getKey(), entry.getValue()));
+        return new Statistics(comparedPairs.sum(), differentPairs.sum(), droppedPairs.sum(), failedPairs.sum(),
+            new DiffStatistics(equalLeaves.sum(), differentLeaves.sum(), missingLeaves.sum(), extraLeaves.sum(), paths, false),
+            untrackedDifferences.sum());
+    }
+
+    /**
+     * Stops accepting new pairs and waits until the queued pairs are compared.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // keep waiting
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void countDifference(Difference difference) {
+        String path = Path.toPattern(difference.getType() == Difference.Type.MISSING ? difference.getExpectedPath() : difference.getActualPath());
+        LongAdder counter = differencesByPath.get(path);
+        if (counter == null) {
+            if (differencesByPath.size() >= MAX_PATHS) {
+                untrackedDifferences.increment();
+                return;
+            }
+            counter = differencesByPath.computeIfAbsent(path, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    private final class CountingListener implements DifferenceListener {
+        private final DifferenceListener listener;
+
+        private CountingListener(DifferenceListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void diff(Difference difference, DifferenceContext context) {
+            countDifference(difference);
+            listener.diff(difference, context);
+        }
+
+        @Override
+        public boolean receivesAllDifferences() {
+            return true;
+        }
+    }
+
+    /**
+     * Aggregated results.
+     */
+    public static final class Statistics {
+        private final long comparedPairs;
+        private final long differentPairs;
+        private final long droppedPairs;
+        private final long failedPairs;
+        private final DiffStatistics leaves;
+        private final long untrackedDifferences;
+
+        Statistics(long comparedPairs, long differentPairs, long droppedPairs, long failedPairs, DiffStatistics leaves, long untrackedDifferences) {
+            this.comparedPairs = comparedPairs;
+            this.differentPairs = differentPairs;
+            this.droppedPairs = droppedPairs;
+            this.failedPairs = failedPairs;
+            this.leaves = leaves;
+            this.untrackedDifferences = untrackedDifferences;
+        }
+
+        public long getComparedPairs() {
+            return comparedPairs;
+        }
+
+        public long getDifferentPairs() {
+            return differentPairs;
+        }
+
+        /**
+         * Pairs that were not compared because too many pairs were waiting.
+         */
+        public long getDroppedPairs() {
+            return droppedPairs;
+        }
+
+        /**
+         * Pairs that could not be compared, usually because the document could not be parsed.
+         */
+        public long getFailedPairs() {
+            return failedPairs;
+        }
+
+        /**
+         * Leaf counts summed over all compared pairs.
+         */
+        public DiffStatistics getLeaves() {
+            return leaves;
+        }
+
+        /**
+         * Number of differences per path pattern, the path with the highest number of differences first.
+         */
+        public Map<String, Long> getDifferencesByPath() {
+            return leaves.getTopDifferencePaths();
+        }
+
+        /**
+         * Differences that were not counted per path, because there were too many distinct paths.
+         */
+        public long getUntrackedDifferences() {
+            return untrackedDifferences;
+        }
+
+        @Override
+        public String toString() {
+            return "compared: " + comparedPairs + ", different: " + differentPairs + ", dropped: " + droppedPairs + ", failed: " + failedPairs
+                + ", differences: " + leaves.getTopDifferencePaths();
+        }
+    }
+}
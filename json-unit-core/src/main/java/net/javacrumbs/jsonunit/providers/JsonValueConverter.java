@@ -0,0 +1,39 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.providers;
+
+/**
+ * Adds support for other JSON types, for example Vert.x JsonObject. Implementations are registered
+ * in META-INF/services/net.javacrumbs.jsonunit.providers.JsonValueConverter {@see https://docs.oracle.com/javase/tutorial/sound/SPI-intro.html}
+ * and are used for all values of the supported type. Other values are handled by the JSON library on the classpath.
+ */
+public interface JsonValueConverter {
+    /**
+     * Type of the values handled by this converter, including its subtypes.
+     *
+     * @return supported type
+     */
+    Class<?> getSupportedType();
+
+    /**
+     * Converts value of the supported type to a Map, List, String, Number, Boolean or null. The result is not copied,
+     * it's read lazily during the comparison. Nested values of the supported type are converted as well.
+     *
+     * @param value value of the supported type
+     * @return converted value
+     */
+    Object convert(Object value);
+}
@@ -16,10 +16,14 @@
 package net.javacrumbs.jsonunit.core.internal;
 
 import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.google.gson.JsonPrimitive;
+import net.javacrumbs.jsonunit.providers.JsonValueConverter;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import static net.javacrumbs.jsonunit.core.internal.ClassUtils.isClassPresent;
 import static net.javacrumbs.jsonunit.core.internal.Converter.LIBRARIES_PROPERTY_NAME;
@@ -54,6 +58,37 @@ public class ConverterTest {
     }
 
 
+    @Test
+    public void shouldUsePreferredFactoryForSubclass() {
+        Converter converter = new Converter(Arrays.asList(new Jackson2NodeFactory(), new GsonNodeFactory()));
+        Node node = converter.convertToNode(new JsonPrimitive(1), "", false);
+        assertEquals(GsonNodeFactory.GsonNode.class, node.getClass());
+        // second call is resolved from the per class cache
+        node = converter.convertToNode(new JsonPrimitive(2), "", false);
+        assertEquals(GsonNodeFactory.GsonNode.class, node.getClass());
+        assertEquals(Jackson2NodeFactory.Jackson2Node.class, converter.convertToNode(BooleanNode.TRUE, "", false).getClass());
+    }
+
+    @Test
+    public void shouldAskFactoryNotDecidingByClassForEachValue() {
+        Converter converter = new Converter(Arrays.asList(new PositiveNumberNodeFactory(), new Jackson2NodeFactory()));
+        assertEquals(GenericNodeBuilder.NumberNode.class, converter.convertToNode(1, "", false).getClass());
+        assertEquals(Jackson2NodeFactory.Jackson2Node.class, converter.convertToNode(-1, "", false).getClass());
+    }
+
+    @Test
+    public void shouldUseRegisteredConverter() {
+        Converter converter = Converter.createDefaultConverter();
+        assertThat(converter.getFactories().get(0)).isInstanceOf(JsonValueConverterNodeFactory.class);
+
+        Node node = converter.convertToNode(new Point(1, new Point(2, null)), "", false);
+        assertEquals(Node.NodeType.OBJECT, node.getNodeType());
+        assertEquals(1, node.get("x").decimalValue().intValue());
+        assertEquals(2, node.get("next").get("x").decimalValue().intValue());
+        assertEquals(Node.NodeType.NULL, node.get("next").get("next").getNodeType());
+        assertEquals(Jackson2NodeFactory.Jackson2Node.class, converter.convertToNode(BooleanNode.TRUE, "", false).getClass());
+    }
+
     @Test
     public void shouldUseOnlyFactorySpecifiedBySystemProperty() {
         System.setProperty(LIBRARIES_PROPERTY_NAME,"gson");
@@ -83,6 +118,55 @@ public class ConverterTest {
         }
     }
 
+    /**
+     * Decides by value, not by class.
+     */
+    private static class PositiveNumberNodeFactory implements NodeFactory {
+        @Override
+        public boolean isPreferredFor(Object source) {
+            return source instanceof Integer && (Integer) source > 0;
+        }
+
+        @Override
+        public Node convertToNode(Object source, String label, boolean lenient) {
+            return valueToNode(source);
+        }
+
+        @Override
+        public Node valueToNode(Object source) {
+            return new GenericNodeBuilder.NumberNode((Number) source);
+        }
+    }
+
+    static final class Point {
+        private final int x;
+        private final Point next;
+
+        Point(int x, Point next) {
+            this.x = x;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Registered in META-INF/services.
+     */
+    public static class PointConverter implements JsonValueConverter {
+        @Override
+        public Class<?> getSupportedType() {
+            return Point.class;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            Point point = (Point) value;
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("x", point.x);
+            result.put("next", point.next);
+            return result;
+        }
+    }
+
     @Test
     public void classShouldBePresent() {
         assertTrue(isClassPresent("java.lang.String"));
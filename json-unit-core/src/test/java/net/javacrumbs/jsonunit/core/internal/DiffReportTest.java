@@ -0,0 +1,93 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.listener.DiffReport;
+import net.javacrumbs.jsonunit.core.listener.Difference;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DiffReportTest {
+    private final DiffReport report = Diff.create(
+        "{\"a\":1,\"b\":[1,2,3],\"c\":{\"d\":\"x\"}}",
+        "{\"a\":2,\"b\":[1],\"c\":{\"d\":\"y\",\"e\":[true,null]}}",
+        "", "", Configuration.empty()
+    ).report();
+
+    @Test
+    void shouldCountDifferences() {
+        assertThat(report.size(), equalTo(5));
+        assertThat(report.getCount(Difference.Type.MISSING), equalTo(2));
+        assertThat(report.getCount(Difference.Type.EXTRA), equalTo(1));
+        assertThat(report.getCount(Difference.Type.DIFFERENT), equalTo(2));
+        assertThat(report.getCountsByPath().get("b[1]"), equalTo(1));
+    }
+
+    @Test
+    void shouldSerializeToJson() {
+        assertThat(report.toJson(), equalTo("{\"counts\":{\"EXTRA\":1,\"MISSING\":2,\"DIFFERENT\":2},\"differences\":[" +
+            "{\"type\":\"DIFFERENT\",\"expectedPath\":\"a\",\"expected\":1,\"actualPath\":\"a\",\"actual\":2}," +
+            "{\"type\":\"MISSING\",\"expectedPath\":\"b[1]\",\"expected\":2}," +
+            "{\"type\":\"MISSING\",\"expectedPath\":\"b[2]\",\"expected\":3}," +
+            "{\"type\":\"EXTRA\",\"actualPath\":\"c.e\",\"actual\":[true,null]}," +
+            "{\"type\":\"DIFFERENT\",\"expectedPath\":\"c.d\",\"expected\":\"x\",\"actualPath\":\"c.d\",\"actual\":\"y\"}]}"));
+    }
+
+    @Test
+    void shouldSerializeToJsonPatch() {
+        assertThat(report.toJsonPatch(), equalTo("[" +
+            "{\"op\":\"replace\",\"path\":\"/a\",\"value\":2}," +
+            "{\"op\":\"replace\",\"path\":\"/c/d\",\"value\":\"y\"}," +
+            "{\"op\":\"remove\",\"path\":\"/b/2\"}," +
+            "{\"op\":\"remove\",\"path\":\"/b/1\"}," +
+            "{\"op\":\"add\",\"path\":\"/c/e\",\"value\":[true,null]}]"));
+    }
+
+    @Test
+    void shouldKeepFieldNamesWithSpecialCharactersInJsonPatch() {
+        DiffReport report = Diff.create("{\"a.b\":1,\"c[0]\":{\"d/e\":true}}", "{\"a.b\":2,\"c[0]\":{}}", "", "", Configuration.empty()).report();
+        assertThat(report.toJsonPatch(), equalTo("[" +
+            "{\"op\":\"replace\",\"path\":\"/a.b\",\"value\":2}," +
+            "{\"op\":\"remove\",\"path\":\"/c[0]/d~1e\"}]"));
+    }
+
+    @Test
+    void shouldReplaceValueInExpectedPath() {
+        DiffReport report = Diff.create("[{\"a\":1},{\"b\":2}]", "[{\"b\":3},{\"a\":1}]", "", "", Configuration.empty().withOptions(Option.IGNORING_ARRAY_ORDER)).report();
+        assertThat(report.toJsonPatch(), equalTo("[{\"op\":\"replace\",\"path\":\"/1/b\",\"value\":3}]"));
+    }
+
+    @Test
+    void shouldReportDifferencesFoundByComparison() {
+        Diff diff = Diff.create("{\"a\":1,\"b\":2}", "{\"a\":2,\"b\":3}", "", "", Configuration.empty());
+        assertThat(diff.similar(), equalTo(false));
+        DiffReport report = diff.report();
+        assertThat(report.size(), equalTo(2));
+        assertThat(report.getCount(Difference.Type.DIFFERENT), equalTo(2));
+    }
+
+    @Test
+    void shouldNotCreateReportAfterStatistics() {
+        Diff diff = Diff.create("1", "2", "", "", Configuration.empty());
+        diff.statistics();
+        assertThrows(IllegalStateException.class, diff::report);
+    }
+}
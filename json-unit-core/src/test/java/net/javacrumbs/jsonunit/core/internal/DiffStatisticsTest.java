@@ -0,0 +1,96 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.listener.DiffStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static net.javacrumbs.jsonunit.core.Option.IGNORING_ARRAY_ORDER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class DiffStatisticsTest {
+
+    @Test
+    void shouldCountLeaves() {
+        DiffStatistics statistics = Diff.create(
+            "{\"a\":1,\"b\":[1,2,3],\"c\":{\"d\":\"x\",\"f\":{\"g\":1,\"h\":2}}}",
+            "{\"a\":2,\"b\":[1],\"c\":{\"d\":\"y\",\"e\":[true,null],\"f\":3}}",
+            "", "", Configuration.empty()
+        ).statistics();
+
+        assertThat(statistics.getEqualLeaves(), equalTo(1L));
+        assertThat(statistics.getDifferentLeaves(), equalTo(4L));
+        assertThat(statistics.getMissingLeaves(), equalTo(2L));
+        assertThat(statistics.getExtraLeaves(), equalTo(2L));
+        assertThat(statistics.getTopDifferencePaths().get("b[*]"), equalTo(2L));
+        assertThat(statistics.isSampled(), equalTo(false));
+    }
+
+    @Test
+    void shouldCountEqualDocuments() {
+        DiffStatistics statistics = Diff.create("{\"a\":[1,{\"b\":2}]}", "{\"a\":[1,{\"b\":2}]}", "", "", Configuration.empty()).statistics();
+
+        assertThat(statistics.getEqualLeaves(), equalTo(2L));
+        assertThat(statistics.getEqualFraction(), equalTo(1.0));
+        assertThat(statistics.getTopDifferencePaths().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    void shouldCountMatchedElementsWhenIgnoringArrayOrder() {
+        DiffStatistics statistics = Diff.create(
+            "[{\"a\":1},{\"a\":2},{\"a\":3},{\"a\":4}]",
+            "[{\"a\":4},{\"a\":3},{\"a\":1},{\"a\":5}]",
+            "", "", Configuration.empty().withOptions(IGNORING_ARRAY_ORDER)
+        ).statistics();
+
+        assertThat(statistics.getEqualLeaves(), equalTo(3L));
+        assertThat(statistics.getDifferentLeaves(), equalTo(1L));
+        assertThat(statistics.getTopDifferencePaths().get("[*].a"), equalTo(1L));
+    }
+
+    @Test
+    void shouldSampleLargeArrays() {
+        String expected = IntStream.range(0, 1000).mapToObj(i -> "{\"id\":" + i + "}").collect(Collectors.joining(",", "[", "]"));
+        String actual = IntStream.range(0, 1000).mapToObj(i -> "{\"id\":" + (i % 2 == 0 ? i : -i) + "}").collect(Collectors.joining(",", "[", "]"));
+
+        DiffStatistics statistics = Diff.create(expected, actual, "", "", Configuration.empty()).statistics(100);
+
+        assertThat(statistics.isSampled(), equalTo(true));
+        assertThat(statistics.getTotalLeaves(), equalTo(100L));
+        assertThat(statistics.getDifferentLeaves(), equalTo(Diff.create(expected, actual, "", "", Configuration.empty()).statistics(100).getDifferentLeaves()));
+    }
+
+    @Test
+    void shouldPickSampleFromEachBucket() {
+        for (int i = 0; i < 100; i++) {
+            int index = StatisticsCollector.sampledIndex(i, 100, 1000);
+            assertThat(index / 10, equalTo(i));
+        }
+        assertThat(StatisticsCollector.sampledIndex(5, 10, 10), equalTo(5));
+    }
+
+    @Test
+    void similarShouldReturnFalseAfterStatistics() {
+        Diff diff = Diff.create("{\"a\":1}", "{\"a\":2}", "", "", Configuration.empty());
+        diff.statistics();
+        assertThat(diff.similar(), equalTo(false));
+    }
+}
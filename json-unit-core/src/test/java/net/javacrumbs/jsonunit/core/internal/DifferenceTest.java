@@ -28,7 +28,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static java.math.BigDecimal.valueOf;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
@@ -218,6 +220,78 @@ public class DifferenceTest {
     }
 
 
+    @Test
+    void shouldLimitNumberOfDifferences() {
+        Diff diff = Diff.create("[1, 2, 3, 4]", "[2, 3, 4, 5]", "", "", Configuration.empty().withMaxDifferencesPerArray(2));
+        assertThat(diff.differences(), equalTo("JSON documents are different:\n" +
+            "Different value found in node \"[0]\", expected: <1> but was: <2>.\n" +
+            "Different value found in node \"[1]\", expected: <2> but was: <3>.\n" +
+            "Array \"\" has too many differences, remaining 2 elements were not compared.\n"));
+    }
+
+    @Test
+    void shouldReuseCompiledRegex() {
+        Diff diff = Diff.create("[\"${json-unit.regex}[a-z]+\", \"${json-unit.regex}[a-z]+\"]", "[\"abc\", \"123\"]", "", "", Configuration.empty());
+        assertThat(diff.differences(), equalTo("JSON documents are different:\n" +
+            "Different value found in node \"[1]\". Pattern \"[a-z]+\" did not match \"123\".\n"));
+        assertThat(PatternCache.compile("[a-z]+"), Matchers.sameInstance(PatternCache.compile("[a-z]+")));
+    }
+
+    @Test
+    void shouldGroupDifferences() {
+        Diff diff = Diff.create("{\"a\":1, \"items\":[{\"p\":1},{\"p\":1},{\"p\":1},{\"p\":1}]}",
+            "{\"a\":2, \"items\":[{\"p\":2},{\"p\":3},{\"p\":2},{\"p\":2}]}", "", "", Configuration.empty().withDifferenceGrouping(1));
+        assertThat(diff.differences(), equalTo("JSON documents are different:\n" +
+            "Different value found in node \"a\", expected: <1> but was: <2>.\n" +
+            "Different value found in node \"items[0].p\", expected: <1> but was: <2>.\n" +
+            "... 3 more differences like this in \"items[*].p\", most common values: 1 -> 2 (3x), 1 -> 3 (1x).\n"));
+    }
+
+    @Test
+    void shouldStopAfterMaxDifferences() {
+        Diff diff = Diff.create("{\"a\":[1, 2, 3], \"b\": 1}", "{\"a\":[2, 3, 4], \"b\": 2}", "", "", Configuration.empty().withMaxDifferences(2));
+        assertThat(diff.differences(), equalTo("JSON documents are different:\n" +
+            "Different value found in node \"a[0]\", expected: <1> but was: <2>.\n" +
+            "Different value found in node \"a[1]\", expected: <2> but was: <3>.\n" +
+            "Comparison stopped after reaching the limit of 2 differences, 2 differences found so far, last compared node \"a[1]\".\n"));
+    }
+
+    @Test
+    void listenerShouldReceiveAllDifferencesIfRequested() {
+        DifferenceListener allDifferencesListener = new DifferenceListener() {
+            @Override
+            public void diff(Difference difference, DifferenceContext context) {
+                listener.diff(difference, context);
+            }
+
+            @Override
+            public boolean receivesAllDifferences() {
+                return true;
+            }
+        };
+        Diff diff = Diff.create("[1, 2, 3, 4]", "[2, 3, 4, 5]", "", "", Configuration.empty().withMaxDifferences(1).withDifferenceListener(allDifferencesListener));
+        assertThat(diff.differences(), equalTo("JSON documents are different:\n" +
+            "Different value found in node \"[0]\", expected: <1> but was: <2>.\n" +
+            "And 3 more differences.\n"));
+        assertThat(listener.getDifferenceList(), hasSize(4));
+    }
+
+    @Test
+    void shouldCompareOnlyAsMuchAsNeededWhenStreamingDifferences() {
+        Diff diff = Diff.create("{\"a\":[1, 2, 3], \"b\": 1}", "{\"a\":[2, 3, 4], \"b\": 2}", "", "", commonConfig());
+        List<Difference> differences = diff.differenceStream().limit(2).collect(toList());
+        assertThat(differences, hasSize(2));
+        assertThat(differences.get(1).getActualPath(), equalTo("a[1]"));
+        assertThat(listener.getDifferenceList(), hasSize(2));
+    }
+
+    @Test
+    void shouldStreamAllDifferences() {
+        Diff diff = Diff.create("{\"a\":[1, 2, 3], \"b\": 1}", "{\"a\":[2, 3, 4], \"b\": 2}", "", "", commonConfig());
+        assertThat(diff.differenceStream().map(Difference::getActualPath).collect(toList()), equalTo(asList("a[0]", "a[1]", "a[2]", "b")));
+        assertThat(diff.similar(), equalTo(false));
+    }
+
     private Configuration commonConfig() {
         return Configuration.empty().withDifferenceListener(listener);
     }
@@ -0,0 +1,87 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.opentest4j.MultipleFailuresError;
+
+import static java.util.Collections.nCopies;
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExceptionUtilsTest {
+
+    @Test
+    void longValuesShouldNotBeTruncatedByDefault() {
+        String longValue = String.join("", nCopies(30_000, "a"));
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+            () -> Diff.create("{\"a\":\"b\"}", "{\"a\":\"" + longValue + "\"}", "", "", Configuration.empty()).failIfDifferent());
+
+        assertThat(error.getMessage(), containsString(longValue));
+        assertThat(error.getActual().getStringRepresentation(), containsString(longValue));
+    }
+
+    @Test
+    void longValuesShouldBeTruncated() {
+        String longValue = String.join("", nCopies(30_000, "a"));
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+            () -> Diff.create("{\"a\":\"b\"}", "{\"a\":\"" + longValue + "\"}", "", "", Configuration.empty().withMaxDifferenceLength(10_000)).failIfDifferent());
+
+        assertThat(error.getMessage().length(), lessThan(11_000));
+        assertThat(error.getMessage(), endsWith("... (20065 more characters)\n"));
+        assertThat(error.getActual().getStringRepresentation().length(), lessThan(11_000));
+    }
+
+    @Test
+    void lengthLimitsShouldBeConfigurable() {
+        String longValue = String.join("", nCopies(1_000, "a"));
+        AssertionFailedError error = assertThrows(AssertionFailedError.class,
+            () -> Diff.create("{\"a\":\"b\"}", "{\"a\":\"" + longValue + "\"}", "", "", Configuration.empty().withMaxDifferenceLength(100)).failIfDifferent());
+
+        assertThat(error.getMessage(), endsWith("... (965 more characters)\n"));
+        assertThat(error.getActual().getStringRepresentation(), endsWith("a..."));
+        assertThat(error.getActual().getStringRepresentation().length(), lessThan(110));
+    }
+
+    @Test
+    void limitedDifferenceShouldNotKeepNodes() {
+        Node expected = convertToJson("{\"a\":[1,2,3]}", "");
+        Node actual = convertToJson("{\"a\":[1,2,4]}", "");
+        Context context = new Context(expected, actual, Path.root(), Path.root(), Configuration.empty().withMaxDifferenceLength(100));
+        JsonDifference difference = new JsonDifference(context, "Different value %s", NodeRenderer.sorted(actual, context.getConfiguration()));
+
+        assertThat(difference.getMessage(), equalTo("Different value {\"a\":[1, 2, 4]}"));
+        assertThat(difference.getExpected(), equalTo("{\"a\":[1,2,3]}"));
+        assertThat(difference.getActual(), equalTo("{\"a\":[1,2,4]}"));
+        assertThat(difference.getError().getActual().getValue(), equalTo("{\"a\":[1, 2, 4]}"));
+    }
+
+    @Test
+    void failuresShouldBeCreatedOnDemand() {
+        MultipleFailuresError error = assertThrows(MultipleFailuresError.class,
+            () -> Diff.create("{\"a\":1,\"b\":2}", "{\"a\":2,\"b\":3}", "", "", Configuration.empty()).failIfDifferent());
+
+        assertThat(error.getFailures(), hasSize(2));
+    }
+}
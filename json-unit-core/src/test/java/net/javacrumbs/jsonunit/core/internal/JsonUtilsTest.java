@@ -20,7 +20,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonMap;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.getNode;
@@ -36,6 +40,9 @@ import static net.javacrumbs.jsonunit.core.internal.Node.NodeType.OBJECT;
 import static net.javacrumbs.jsonunit.core.internal.Node.NodeType.STRING;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class JsonUtilsTest {
@@ -182,4 +189,30 @@ public class JsonUtilsTest {
         // JSON string has to be double escaped (once for Java, once for JSON)
         assertFalse(nodeAbsent("{\"test\\\\backslash\":{\"value\":1}}", Path.create("test\\backslash"), false));
     }
+
+    @Test
+    void valuesShouldBeReadOnlyViews() {
+        Map<String, Object> map = (Map<String, Object>) convertToJson("{\"a\":[1,{\"b\":null}],\"c\":true}", "x").getValue();
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("c"));
+        assertFalse(map.containsKey("d"));
+        assertEquals(asList(new BigDecimal(1), singletonMap("b", null)), map.get("a"));
+        assertEquals(singletonMap("b", null), ((List<Object>) map.get("a")).get(1));
+        assertThrows(UnsupportedOperationException.class, () -> map.put("d", 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ((List<Object>) map.get("a")).get(2));
+    }
+
+    @Test
+    void convertedValuesShouldBeReused() {
+        Map<String, Object> map = (Map<String, Object>) convertToJson("{\"a\":[1,{\"b\":null}],\"c\":null}", "x").getValue();
+        List<Object> list = (List<Object>) map.get("a");
+        assertSame(list, map.get("a"));
+        assertSame(list, map.entrySet().iterator().next().getValue());
+        Iterator<Object> elements = list.iterator();
+        elements.next();
+        assertSame(list.get(1), elements.next());
+        assertTrue(map.containsKey("c"));
+        assertNull(map.get("c"));
+        assertNull(((Map<String, Object>) list.get(1)).get("b"));
+    }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.nCopies;
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.sameInstance;
+
+class NodeRendererTest {
+
+    private static final Configuration LIMITED = Configuration.empty().withMaxDifferenceLength(10_000).withMaxDifferenceArrayElements(100).withMaxDifferenceDepth(32);
+
+    @Test
+    void shouldRenderSortedKeys() {
+        Node node = convertToJson("{\"b\":[\"s\",{\"z\":1,\"a\":\"q\"}],\"a\":1, \"c\": null}", "");
+        assertThat(NodeRenderer.sorted(node, LIMITED).toString(), equalTo("{\"a\":1,\"b\":[s, {\"a\":\"q\",\"z\":1}],\"c\":null}"));
+    }
+
+    @Test
+    void shouldElideLargeArrays() {
+        Node node = convertToJson("{\"items\":" + range(5000) + "}", "");
+        String rendered = NodeRenderer.sorted(node, LIMITED).toString();
+        assertThat(rendered, containsString(", 99, ... 4900 more elements]"));
+    }
+
+    @Test
+    void valuesShouldBeRenderedWithoutLimits() {
+        Node node = convertToJson("{\"items\":" + range(5000) + "}", "");
+        assertThat(node.getValue().toString(), containsString(", 4998, 4999]}"));
+        assertThat(node.get("items").getValue().toString(), containsString(", 4998, 4999]"));
+    }
+
+    @Test
+    void shortenedValueShouldBeReplacedInFailures() {
+        Object value = convertToJson(range(5000), "").getValue();
+        assertThat(ExceptionUtils.boundedValue(value, LIMITED).toString(), containsString(", 99, ... 4900 more elements]"));
+        assertThat(ExceptionUtils.boundedValue(value, Configuration.empty().withMaxDifferenceArrayElements(10)).toString(), containsString(", 9, ... 4990 more elements]"));
+        assertThat(ExceptionUtils.boundedValue(value, Configuration.empty()), sameInstance(value));
+    }
+
+    @Test
+    void shouldNotElideLargeArraysByDefault() {
+        String differences = Diff.create("[1]", range(5000), "", "", Configuration.empty()).differences();
+        assertThat(differences, containsString(",4998,4999]>"));
+    }
+
+    @Test
+    void shouldElideLargeArraysInDifferences() {
+        String differences = Diff.create("[1]", range(5000), "", "", Configuration.empty().withMaxDifferenceArrayElements(100)).differences();
+        assertThat(differences, containsString("but was: <[0,1,2,"));
+        assertThat(differences, containsString(",99,... 4900 more elements]>"));
+        assertThat(differences.length(), lessThan(2000));
+    }
+
+    @Test
+    void shouldLimitCompactValues() {
+        Node nested = convertToJson(String.join("", nCopies(40, "[")) + "1" + String.join("", nCopies(40, "]")), "");
+        assertThat(NodeRenderer.compact(nested, LIMITED).toString(), containsString("[[[...]]]"));
+        assertThat(NodeRenderer.compact(convertToJson(range(5000), ""), LIMITED.withMaxDifferenceLength(20)).toString(), equalTo("[0,1,2,3,4,5,6,7,8,9..."));
+    }
+
+    @Test
+    void shouldLimitDepthInDifferences() {
+        String nested = String.join("", nCopies(5, "{\"a\":")) + "1" + String.join("", nCopies(5, "}"));
+        String differences = Diff.create("{}", nested, "", "", Configuration.empty().withMaxDifferenceDepth(2)).differences();
+        assertThat(differences, containsString("but was: <{\"a\":{\"a\":{...}}}>"));
+    }
+
+    @Test
+    void shouldStopWhenBudgetIsExhausted() {
+        StringBuilder builder = new StringBuilder();
+        new NodeRenderer.Rendered(10, 100, 32) {
+            @Override
+            void render(NodeRenderer.BudgetAppendable out) throws IOException {
+                out.append("0123456789abcdef");
+            }
+        }.renderTo(builder);
+        assertThat(builder.toString(), equalTo("0123456789..."));
+    }
+
+    private static String range(int count) {
+        return IntStream.range(0, count).mapToObj(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+}
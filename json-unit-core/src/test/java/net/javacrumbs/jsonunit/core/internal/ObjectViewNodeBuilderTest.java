@@ -0,0 +1,119 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static net.javacrumbs.jsonunit.core.util.ObjectViews.objectView;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ObjectViewNodeBuilderTest {
+
+    @Test
+    void shouldCompareBean() {
+        Item item = new Item("apple", new BigDecimal("1.5"), Arrays.asList("fruit", "red"));
+        assertTrue(similar("{\"name\":\"apple\",\"price\":1.5,\"tags\":[\"fruit\",\"red\"],\"available\":true,\"count\":0}", item));
+    }
+
+    @Test
+    void shouldReportDifferencesInBean() {
+        Item item = new Item("apple", new BigDecimal("1.5"), Collections.<String>emptyList());
+        Diff diff = Diff.create("{\"name\":\"pear\",\"price\":1.5,\"tags\":[],\"available\":true,\"count\":0}", objectView(item), "", "", Configuration.empty());
+        assertFalse(diff.similar());
+        assertEquals("JSON documents are different:\n" +
+            "Different value found in node \"name\", expected: <\"pear\"> but was: <\"apple\">.\n", diff.differences());
+    }
+
+    @Test
+    void shouldCompareMapsAndCollections() {
+        Map<Integer, Object> map = Collections.singletonMap(1, new LinkedHashSet<>(Arrays.asList(1, 2)));
+        assertTrue(similar("{\"1\":[1,2]}", map));
+    }
+
+    @Test
+    void shouldCompareSortedMapWithNonStringKeys() {
+        Map<Integer, String> map = new TreeMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+        assertTrue(similar("{\"1\":\"a\",\"2\":\"b\"}", map));
+        Node node = (Node) objectView(map);
+        assertEquals("b", node.get("2").getValue());
+        assertTrue(node.get("3").isMissingNode());
+    }
+
+    @Test
+    void shouldReturnNodeTypes() {
+        Node node = (Node) objectView(new Item("apple", BigDecimal.ONE, Collections.<String>emptyList()));
+        assertEquals(Node.NodeType.OBJECT, node.getNodeType());
+        assertEquals(Node.NodeType.ARRAY, node.get("tags").getNodeType());
+        assertEquals(Node.NodeType.NUMBER, node.get("price").getNodeType());
+        assertTrue(node.get("unknown").isMissingNode());
+    }
+
+    @Test
+    void shouldWrapScalarsDirectly() {
+        assertTrue(ObjectViewNodeBuilder.view(1L) instanceof GenericNodeBuilder.NumberNode);
+        assertTrue(ObjectViewNodeBuilder.view(new BigDecimal("1.50")) instanceof GenericNodeBuilder.NumberNode);
+        assertTrue(ObjectViewNodeBuilder.view('a') instanceof GenericNodeBuilder.StringNode);
+        assertTrue(ObjectViewNodeBuilder.view(true) instanceof GenericNodeBuilder.BooleanNode);
+        assertTrue(ObjectViewNodeBuilder.view(null) instanceof GenericNodeBuilder.NullNode);
+        assertTrue(similar("[1,2.5,\"a\",true,null]", Arrays.asList(1L, 2.5f, 'a', true, null)));
+    }
+
+    private static boolean similar(String expected, Object actual) {
+        return Diff.create(expected, objectView(actual), "", "", Configuration.empty()).similar();
+    }
+
+    public static class Item {
+        private final String name;
+        private final BigDecimal price;
+        private final List<String> tags;
+        public int count;
+
+        Item(String name, BigDecimal price, List<String> tags) {
+            this.name = name;
+            this.price = price;
+            this.tags = tags;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public boolean isAvailable() {
+            return true;
+        }
+    }
+}
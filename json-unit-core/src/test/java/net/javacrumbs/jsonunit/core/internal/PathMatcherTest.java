@@ -15,10 +15,15 @@
  */
 package net.javacrumbs.jsonunit.core.internal;
 
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.internal.JsonPathExpression.NodePath;
 import org.junit.jupiter.api.Test;
 
 import static net.javacrumbs.jsonunit.core.internal.Node.MISSING_NODE;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -55,6 +60,95 @@ class PathMatcherTest {
         assertFalse(create("root.*.array[*].next[*]").matches("root.x.array[2].next[1]"));
     }
 
+    @Test
+    void shouldMatchJsonPathRecursiveDescent() {
+        assertTrue(create("$..timestamp").matches("timestamp"));
+        assertTrue(create("$..timestamp").matches("items[1].meta.timestamp"));
+        assertTrue(create("$..timestamp").matches("$.items[1].meta.timestamp"));
+        assertFalse(create("$..timestamp").matches("items[1].meta.timestamp2"));
+        assertTrue(create("$..meta[*]").matches("items[1].meta[0]"));
+    }
+
+    @Test
+    void shouldMatchJsonPathWildcards() {
+        assertTrue(create("$.items[*].meta.*").matches("items[1].meta.a"));
+        assertTrue(create("$['items'][*]['meta'].*").matches("items[1].meta.a"));
+        assertFalse(create("$.items[*].meta.*").matches("items[1].meta"));
+        assertFalse(create("$.items[*].meta.*").matches("items[1].meta.a.b"));
+        assertFalse(create("$.items[*].meta.*").matches("items.meta.a"));
+    }
+
+    @Test
+    void shouldMatchJsonPathIndexesAndSlices() {
+        Node root = JsonUtils.convertToJson("{\"a\": [1, 2, 3, 4]}", "actual");
+        assertTrue(create("$.a[1,3]").matches(nodePath("a[3]", root)));
+        assertFalse(create("$.a[1,3]").matches(nodePath("a[2]", root)));
+        assertTrue(create("$.a[1:3]").matches(nodePath("a[2]", root)));
+        assertFalse(create("$.a[1:3]").matches(nodePath("a[3]", root)));
+        assertTrue(create("$.a[::2]").matches(nodePath("a[2]", root)));
+        assertFalse(create("$.a[::2]").matches(nodePath("a[1]", root)));
+        assertTrue(create("$.a[-1]").matches(nodePath("a[3]", root)));
+        assertTrue(create("$.a[-2:]").matches(nodePath("a[2]", root)));
+        assertFalse(create("$.a[-2:]").matches(nodePath("a[1]", root)));
+    }
+
+    @Test
+    void shouldNotMatchNegativeIndexesWhenArraySizeIsUnknown() {
+        assertFalse(create("$.a[-1]").matches("a[3]"));
+        assertFalse(create("$.a[-2:]").matches("a[1]"));
+        assertFalse(create("$.a[:-1]").matches("a[0]"));
+    }
+
+    @Test
+    void negativeIndexesShouldMatchWhenArrayOrderIsIgnored() {
+        // elements are matched in separate comparisons, the paths are still resolved against the whole array
+        String expected = "{\"items\":[{\"id\":2,\"x\":2},{\"id\":1,\"x\":1}]}";
+        String actual = "{\"items\":[{\"id\":1,\"x\":1},{\"id\":2,\"x\":3}]}";
+        Configuration configuration = Configuration.empty().withOptions(Option.IGNORING_ARRAY_ORDER);
+        assertTrue(Diff.create(expected, actual, "", "", configuration.whenIgnoringPaths("$.items[-1:].x")).similar());
+        assertTrue(Diff.create(expected, actual, "", "", configuration.whenIgnoringPaths("$.items[-1].x")).similar());
+        assertFalse(Diff.create(expected, actual, "", "", configuration.whenIgnoringPaths("$.items[:-1].x")).similar());
+    }
+
+    @Test
+    void filtersShouldMatchWhenArrayOrderIsIgnored() {
+        String expected = "{\"items\":[{\"id\":2,\"x\":2},{\"id\":1,\"x\":1}]}";
+        String actual = "{\"items\":[{\"id\":1,\"x\":1},{\"id\":2,\"x\":3}]}";
+        Configuration configuration = Configuration.empty().withOptions(Option.IGNORING_ARRAY_ORDER);
+        assertTrue(Diff.create(expected, actual, "", "", configuration.whenIgnoringPaths("$.items[?(@.id == 2)].x")).similar());
+        assertFalse(Diff.create(expected, actual, "", "", configuration.whenIgnoringPaths("$.items[?(@.id == 1)].x")).similar());
+    }
+
+    @Test
+    void compiledExpressionsShouldBeReused() {
+        assertSame(JsonPathExpression.compile("$..timestamp"), JsonPathExpression.compile("$..timestamp"));
+        assertNull(JsonPathExpression.compile("$.items.length()"));
+    }
+
+    @Test
+    void shouldMatchJsonPathFilters() {
+        Node root = JsonUtils.convertToJson("{\"items\":[{\"type\":\"x\", \"price\": 10}, {\"type\":\"y\"}]}", "actual");
+        assertTrue(create("$.items[?(@.type == 'x')].price").matches(nodePath("items[0].price", root)));
+        assertFalse(create("$.items[?(@.type == 'x')].price").matches(nodePath("items[1].price", root)));
+        assertTrue(create("$.items[?(@.type != 'x')]").matches(nodePath("items[1]", root)));
+        assertTrue(create("$.items[?(@.price)]").matches(nodePath("items[0]", root)));
+        assertFalse(create("$.items[?(@.price)]").matches(nodePath("items[1]", root)));
+        assertTrue(create("$..[?(@.price >= 10)].type").matches(nodePath("items[0].type", root)));
+        assertFalse(create("$..[?(@.price > 10)].type").matches(nodePath("items[0].type", root)));
+    }
+
+    @Test
+    void shouldNotCompileUnsupportedJsonPath() {
+        assertTrue(JsonPathExpression.isSupported("$.items[?(@.type == 'x')].price"));
+        assertFalse(JsonPathExpression.isSupported("$.items.length()"));
+        assertFalse(JsonPathExpression.isSupported("$.items[?(@.a && @.b)]"));
+        assertFalse(JsonPathExpression.isSupported("items[*]"));
+    }
+
+    private static NodePath nodePath(String path, Node root) {
+        return new NodePath(Path.create(path), root);
+    }
+
     private PathMatcher create(String s) {
         return PathMatcher.create(s);
     }
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.internal;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.util.ShadowComparator;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ShadowComparatorTest {
+
+    @Test
+    void shouldAggregateDifferencesByPathPattern() {
+        ShadowComparator comparator = new ShadowComparator(Configuration.empty(), 2, 1000);
+        for (int i = 0; i < 100; i++) {
+            comparator.submit("{\"id\":" + i + ",\"items\":[{\"price\":1},{\"price\":2}]}", "{\"id\":" + i + ",\"items\":[{\"price\":1},{\"price\":" + (i % 2) + "}]}");
+        }
+        comparator.close();
+
+        ShadowComparator.Statistics statistics = comparator.getStatistics();
+        assertThat(statistics.getComparedPairs(), equalTo(100L));
+        assertThat(statistics.getDifferentPairs(), equalTo(100L));
+        assertThat(statistics.getDroppedPairs(), equalTo(0L));
+        assertThat(statistics.getDifferencesByPath().get("items[*].price"), equalTo(100L));
+        assertThat(statistics.getLeaves().getEqualLeaves(), equalTo(200L));
+    }
+
+    @Test
+    void shouldCountFailedComparisons() {
+        ShadowComparator comparator = new ShadowComparator(Configuration.empty(), 1, 0);
+
+        assertThat(comparator.compare("{\"a\":1}", "{"), equalTo(false));
+        assertThat(comparator.compare("{\"a\":1}", "{\"a\":1}"), equalTo(true));
+        assertThat(comparator.getStatistics().getFailedPairs(), equalTo(1L));
+        assertThat(comparator.getStatistics().getComparedPairs(), equalTo(1L));
+    }
+
+    @Test
+    void shouldDropPairsAfterClose() {
+        ShadowComparator comparator = new ShadowComparator(Configuration.empty(), 1, 10);
+        comparator.close();
+
+        assertThat(comparator.submit("1", "1"), equalTo(false));
+        assertThat(comparator.getStatistics().getDroppedPairs(), equalTo(1L));
+    }
+}
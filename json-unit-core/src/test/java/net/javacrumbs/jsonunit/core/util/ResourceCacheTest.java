@@ -0,0 +1,90 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.core.util;
+
+import net.javacrumbs.jsonunit.core.internal.Node;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResourceCacheTest {
+    private static final String FIRST = "resource-cache/first.json";
+    private static final String SECOND = "resource-cache/second.json";
+
+    @Test
+    void parsedResourceShouldBeCached() {
+        ResourceCache cache = new ResourceCache(1, false);
+        Object first = cache.get(FIRST);
+        assertSame(first, cache.get(FIRST));
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertEquals(1, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    void leastRecentlyUsedResourceShouldBeEvicted() {
+        ResourceCache cache = new ResourceCache(1, false);
+        Object first = cache.get(FIRST);
+        cache.get(SECOND);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+        assertNotSame(first, cache.get(FIRST));
+    }
+
+    @Test
+    void modifiedResourceShouldBeReread() throws IOException, URISyntaxException {
+        Path directory = new File(ClassLoader.getSystemResource(FIRST).toURI()).toPath().getParent();
+        Path modified = Files.write(directory.resolve("modified.json"), "{\"test\":1}".getBytes(StandardCharsets.UTF_8));
+        try {
+            ResourceCache cache = new ResourceCache(1, true);
+            Node first = cache.get("resource-cache/modified.json");
+            assertSame(first, cache.get("resource-cache/modified.json"));
+
+            Files.write(modified, "{\"test\":2}".getBytes(StandardCharsets.UTF_8));
+            modified.toFile().setLastModified(modified.toFile().lastModified() + 10_000);
+            Node second = cache.get("resource-cache/modified.json");
+            assertNotSame(first, second);
+            assertEquals(2, second.get("test").decimalValue().intValue());
+            assertEquals(1, cache.getStatistics().getHitCount());
+            assertEquals(2, cache.getStatistics().getMissCount());
+        } finally {
+            Files.delete(modified);
+        }
+    }
+
+    @Test
+    void clearShouldRemoveResources() {
+        ResourceCache cache = new ResourceCache(2, false);
+        cache.get(FIRST);
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ResourceCache(0, false));
+        assertThrows(NullPointerException.class, () -> new ResourceCache(1, false).get(null));
+    }
+}
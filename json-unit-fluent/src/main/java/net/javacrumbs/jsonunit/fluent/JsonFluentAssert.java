@@ -20,12 +20,14 @@ import net.javacrumbs.jsonunit.core.ConfigurationWhen;
 import net.javacrumbs.jsonunit.core.ConfigurationWhen.ApplicableForPath;
 import net.javacrumbs.jsonunit.core.ConfigurationWhen.PathsParam;
 import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.PathExpectation;
 import net.javacrumbs.jsonunit.core.internal.Path;
 import net.javacrumbs.jsonunit.core.internal.matchers.InternalMatcher;
 import net.javacrumbs.jsonunit.core.listener.DifferenceListener;
 import org.hamcrest.Matcher;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.getNode;
@@ -218,6 +220,19 @@ public class JsonFluentAssert {
     }
 
 
+    /**
+     * Checks multiple nodes in one pass over the document. Paths are relative to the current node,
+     * all the failures are reported together.
+     *
+     * @param expectations path to expected value, Hamcrest matcher or {@link PathExpectation}
+     * @return {@code this} object.
+     */
+    public JsonFluentAssert hasPaths(Map<String, ?> expectations) {
+        internalMatcher.hasPaths(expectations);
+        return this;
+    }
+
+
     /**
      * Array assertions
      */
@@ -18,26 +18,35 @@ package net.javacrumbs.jsonunit.jsonpath;
 
 import com.jayway.jsonpath.Option;
 import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.internal.JsonPathExpression;
 import net.javacrumbs.jsonunit.core.internal.JsonUtils;
+import net.javacrumbs.jsonunit.core.internal.Node;
 import net.javacrumbs.jsonunit.core.internal.PathOption;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
-import static com.jayway.jsonpath.JsonPath.using;
 import static java.util.stream.Collectors.toList;
 
 public class InternalJsonPathUtils {
+    private static final com.jayway.jsonpath.Configuration PATH_LIST_CONFIGURATION = com.jayway.jsonpath.Configuration.builder()
+        .jsonProvider(NodeJsonProvider.INSTANCE)
+        .options(Option.AS_PATH_LIST, Option.SUPPRESS_EXCEPTIONS)
+        .build();
+
     private InternalJsonPathUtils() {
 
     }
 
     public static Configuration resolveJsonPaths(Object json, Configuration configuration) {
-        Collection<String> pathsToBeIgnored = resolveJsonPaths(json, configuration.getPathsToBeIgnored());
+        PathResolver resolver = new PathResolver(json);
+        Collection<String> pathsToBeIgnored = resolver.resolve(configuration.getPathsToBeIgnored());
         List<PathOption> pathOptions = configuration.getPathOptions()
             .stream().map(po -> {
-                List<String> newPoPaths = resolveJsonPaths(json, po.getPaths());
+                List<String> newPoPaths = resolver.resolve(po.getPaths());
                 return po.withPaths(newPoPaths);
             }).collect(toList());
 
@@ -46,27 +55,15 @@ public class InternalJsonPathUtils {
             .withPathOptions(pathOptions);
     }
 
-    private static List<String> resolveJsonPaths(Object json, Collection<String> paths) {
-        com.jayway.jsonpath.Configuration conf = com.jayway.jsonpath.Configuration.builder()
-            .options(Option.AS_PATH_LIST, Option.SUPPRESS_EXCEPTIONS)
-            .build();
-
-        return paths.stream().flatMap(path -> {
-            if (path.startsWith("$")) {
-                List<String> resolvedPaths = readValue(conf, json, path);
-                return resolvedPaths.stream().map(InternalJsonPathUtils::fromBracketNotation);
-            } else {
-                return Stream.of(path);
-            }
-        }).collect(toList());
+    /**
+     * Evaluates the path directly on JsonUnit Node, already parsed values are not converted.
+     */
+    static <T> T readValue(com.jayway.jsonpath.Configuration conf, Object json, String path) {
+        return readValue(conf.jsonProvider(NodeJsonProvider.INSTANCE), JsonUtils.convertToJson(json, "actual"), path);
     }
 
-    static <T> T readValue(com.jayway.jsonpath.Configuration conf, Object json, String path) {
-        if (json instanceof String) {
-            return using(conf).parse((String) json).read(path);
-        } else {
-            return using(conf).parse(JsonUtils.convertToJson(json, "actual").getValue()).read(path);
-        }
+    private static <T> T readValue(com.jayway.jsonpath.Configuration conf, Node node, String path) {
+        return JsonPathCache.compile(path).read(node, conf);
     }
 
     static String fromBracketNotation(String path) {
@@ -75,4 +72,40 @@ public class InternalJsonPathUtils {
             .replace("']", "");
     }
 
+    /**
+     * Resolves JsonPaths of one document. Paths supported by {@link JsonPathExpression} are kept as they are,
+     * they are matched natively during the comparison. The document is parsed only when there is a JsonPath to resolve
+     * and only once. Each distinct path is evaluated only once even if it's used by multiple options.
+     */
+    private static final class PathResolver {
+        private final Object json;
+        private Node document;
+        private final Map<String, List<String>> resolvedPaths = new HashMap<>();
+
+        private PathResolver(Object json) {
+            this.json = json;
+        }
+
+        List<String> resolve(Collection<String> paths) {
+            return paths.stream().flatMap(path -> {
+                if (path.startsWith("$") && !JsonPathExpression.isSupported(path)) {
+                    return resolvedPaths.computeIfAbsent(path, this::evaluate).stream();
+                } else {
+                    return Stream.of(path);
+                }
+            }).collect(toList());
+        }
+
+        private List<String> evaluate(String path) {
+            List<String> resolvedPaths = readValue(PATH_LIST_CONFIGURATION, getDocument(), path);
+            return resolvedPaths.stream().map(InternalJsonPathUtils::fromBracketNotation).collect(toList());
+        }
+
+        private Node getDocument() {
+            if (document == null) {
+                document = JsonUtils.convertToJson(json, "actual");
+            }
+            return document;
+        }
+    }
 }
@@ -17,6 +17,7 @@ package net.javacrumbs.jsonunit.jsonpath;
 
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.PathNotFoundException;
+import net.javacrumbs.jsonunit.core.internal.Node;
 
 import static com.jayway.jsonpath.JsonPath.using;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.jsonSource;
@@ -36,9 +37,20 @@ public final class JsonPathAdapter {
     public static Object inPath(Object json, String path) {
         String normalizedPath = fromBracketNotation(path);
         try {
-            return jsonSource(wrapDeserializedObject(readValue(Configuration.defaultConfiguration(), json, path)), normalizedPath);
+            return jsonSource(toNode(readValue(Configuration.defaultConfiguration(), json, path)), normalizedPath);
         } catch (PathNotFoundException e) {
             return jsonSource(missingNode(), normalizedPath);
         }
     }
+
+    /**
+     * Parts of the document are already Nodes, only values created by json-path need to be wrapped.
+     */
+    private static Node toNode(Object value) {
+        if (value instanceof Node) {
+            return (Node) value;
+        } else {
+            return wrapDeserializedObject(value);
+        }
+    }
 }
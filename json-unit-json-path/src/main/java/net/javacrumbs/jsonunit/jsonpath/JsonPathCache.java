@@ -0,0 +1,35 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.jsonpath;
+
+import com.jayway.jsonpath.JsonPath;
+import net.javacrumbs.jsonunit.core.internal.LruCache;
+
+/**
+ * Thread-safe LRU cache of compiled JsonPaths shared by all comparisons. The same paths are usually used
+ * in many assertions, it's enough to compile them only once.
+ * The size can be changed by "json-unit.json-path-cache.size" system property.
+ */
+final class JsonPathCache {
+    private static final LruCache<String, JsonPath> PATHS = new LruCache<>(Integer.getInteger("json-unit.json-path-cache.size", 256));
+
+    private JsonPathCache() {
+    }
+
+    static JsonPath compile(String path) {
+        return PATHS.computeIfAbsent(path, p -> JsonPath.compile(p));
+    }
+}
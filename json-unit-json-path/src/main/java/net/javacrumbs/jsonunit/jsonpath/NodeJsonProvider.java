@@ -0,0 +1,283 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.jsonpath;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import net.javacrumbs.jsonunit.core.internal.JsonUtils;
+import net.javacrumbs.jsonunit.core.internal.Node;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.javacrumbs.jsonunit.core.internal.Node.NodeType.ARRAY;
+import static net.javacrumbs.jsonunit.core.internal.Node.NodeType.OBJECT;
+
+/**
+ * Jayway JsonProvider working directly over JsonUnit {@link Node}s, so paths are evaluated on the already parsed
+ * document. Objects and arrays of the document are kept as Nodes, other values are returned as String, BigDecimal,
+ * Boolean or null so Jayway filters can compare them. Maps and lists created by Jayway for results are standard
+ * Java collections.
+ */
+final class NodeJsonProvider implements JsonProvider {
+    static final NodeJsonProvider INSTANCE = new NodeJsonProvider();
+
+    private NodeJsonProvider() {
+
+    }
+
+    @Override
+    public Object parse(String json) throws InvalidJsonException {
+        return JsonUtils.convertToJson(json, "actual");
+    }
+
+    @Override
+    public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
+        try {
+            return JsonUtils.convertToJson(new InputStreamReader(jsonStream, charset), "actual");
+        } catch (UnsupportedEncodingException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    @Override
+    public String toJson(Object obj) {
+        StringBuilder result = new StringBuilder();
+        try {
+            appendJson(obj, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    @Override
+    public Object createArray() {
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Object createMap() {
+        return new LinkedHashMap<String, Object>();
+    }
+
+    @Override
+    public boolean isArray(Object obj) {
+        return obj instanceof List || isNodeOfType(obj, ARRAY);
+    }
+
+    @Override
+    public int length(Object obj) {
+        if (obj instanceof Node) {
+            Node node = (Node) obj;
+            if (node.getNodeType() == OBJECT) {
+                return getPropertyKeys(node).size();
+            }
+            return node.size();
+        } else if (obj instanceof List) {
+            return ((List<?>) obj).size();
+        } else if (obj instanceof Map) {
+            return ((Map<?, ?>) obj).size();
+        } else if (obj instanceof String) {
+            return ((String) obj).length();
+        }
+        throw new JsonPathException("length operation cannot be applied to " + (obj != null ? obj.getClass().getName() : "null"));
+    }
+
+    @Override
+    public Iterable<?> toIterable(Object obj) {
+        if (isNodeOfType(obj, ARRAY)) {
+            Node node = (Node) obj;
+            return () -> new Iterator<Object>() {
+                private final Iterator<Node> elements = node.arrayElements();
+
+                @Override
+                public boolean hasNext() {
+                    return elements.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return toValue(elements.next());
+                }
+            };
+        } else if (obj instanceof List) {
+            return (List<?>) obj;
+        }
+        throw new JsonPathException("Cannot iterate over " + (obj != null ? obj.getClass().getName() : "null"));
+    }
+
+    @Override
+    public Collection<String> getPropertyKeys(Object obj) {
+        if (isNodeOfType(obj, OBJECT)) {
+            List<String> keys = new ArrayList<>();
+            Iterator<Node.KeyValue> fields = ((Node) obj).fields();
+            while (fields.hasNext()) {
+                keys.add(fields.next().getKey());
+            }
+            return keys;
+        } else if (obj instanceof Map) {
+            List<String> keys = new ArrayList<>();
+            for (Object key : ((Map<?, ?>) obj).keySet()) {
+                keys.add(String.valueOf(key));
+            }
+            return keys;
+        }
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object getArrayIndex(Object obj, int idx) {
+        if (obj instanceof Node) {
+            return toValue(((Node) obj).element(idx));
+        } else {
+            return ((List<?>) obj).get(idx);
+        }
+    }
+
+    @Override
+    @Deprecated
+    public Object getArrayIndex(Object obj, int idx, boolean unwrap) {
+        Object value = getArrayIndex(obj, idx);
+        return unwrap ? unwrap(value) : value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setArrayIndex(Object array, int idx, Object newValue) {
+        if (!(array instanceof List)) {
+            throw readOnly();
+        }
+        List<Object> list = (List<Object>) array;
+        if (idx == list.size()) {
+            list.add(newValue);
+        } else {
+            list.set(idx, newValue);
+        }
+    }
+
+    @Override
+    public Object getMapValue(Object obj, String key) {
+        if (obj instanceof Node) {
+            Node value = ((Node) obj).get(key);
+            return value.isMissingNode() ? UNDEFINED : toValue(value);
+        } else {
+            Map<?, ?> map = (Map<?, ?>) obj;
+            return map.containsKey(key) ? map.get(key) : UNDEFINED;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setProperty(Object obj, Object key, Object value) {
+        if (obj instanceof Map) {
+            ((Map<Object, Object>) obj).put(key.toString(), value);
+        } else if (obj instanceof List) {
+            setArrayIndex(obj, key != null ? Integer.parseInt(key.toString()) : ((List<?>) obj).size(), value);
+        } else {
+            throw readOnly();
+        }
+    }
+
+    @Override
+    public void removeProperty(Object obj, Object key) {
+        throw readOnly();
+    }
+
+    @Override
+    public boolean isMap(Object obj) {
+        return obj instanceof Map || isNodeOfType(obj, OBJECT);
+    }
+
+    /**
+     * Objects and arrays are unwrapped to lazy Map and List views, they are Nodes at the same time.
+     */
+    @Override
+    public Object unwrap(Object obj) {
+        if (obj instanceof Node) {
+            return ((Node) obj).getValue();
+        }
+        return obj;
+    }
+
+    private static boolean isNodeOfType(Object obj, Node.NodeType type) {
+        return obj instanceof Node && ((Node) obj).getNodeType() == type;
+    }
+
+    /**
+     * Keeps objects and arrays as Nodes, converts other values to Java values.
+     */
+    private static Object toValue(Node node) {
+        if (node.isMissingNode()) {
+            return UNDEFINED;
+        }
+        Node.NodeType type = node.getNodeType();
+        if (type == OBJECT || type == ARRAY) {
+            return node;
+        }
+        return node.getValue();
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("JsonUnit nodes are read-only");
+    }
+
+    private void appendJson(Object value, Appendable out) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (isMap(value)) {
+            out.append('{');
+            boolean first = true;
+            for (String key : getPropertyKeys(value)) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                JsonUtils.appendJsonString(out, key);
+                out.append(':');
+                appendJson(getMapValue(value, key), out);
+            }
+            out.append('}');
+        } else if (isArray(value)) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : toIterable(value)) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                appendJson(element, out);
+            }
+            out.append(']');
+        } else if (value instanceof Node) {
+            appendJson(((Node) value).getValue(), out);
+        } else if (value instanceof String) {
+            JsonUtils.appendJsonString(out, (String) value);
+        } else {
+            out.append(String.valueOf(value));
+        }
+    }
+}
@@ -18,10 +18,17 @@ package net.javacrumbs.jsonunit.spring;
 import net.javacrumbs.jsonunit.core.Configuration;
 import net.javacrumbs.jsonunit.core.internal.Path;
 import net.javacrumbs.jsonunit.core.internal.matchers.InternalMatcher;
-import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.http.MediaType;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
 import java.util.function.BiConsumer;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
+import static net.javacrumbs.jsonunit.core.internal.matchers.InternalMatcher.ACTUAL;
+
 abstract class AbstractSpringMatcher {
     private final Path path;
     private final Configuration configuration;
@@ -36,4 +43,31 @@ abstract class AbstractSpringMatcher {
     void doMatch(Object actual) {
         matcher.accept(actual, new InternalMatcher(actual, path, "", configuration));
     }
+
+    /**
+     * Parses body directly from its bytes, the result does not depend on configuration so it can be shared
+     * by all matchers. Blank body is returned as a String, so it's compared as a string value as before.
+     */
+    static Object parseBody(byte[] content, Charset charset) {
+        if (isBlank(content)) {
+            return new String(content, charset);
+        }
+        return convertToJson(new InputStreamReader(new ByteArrayInputStream(content), charset), ACTUAL);
+    }
+
+    /**
+     * Charset of the content type, UTF-8 if not specified.
+     */
+    static Charset charsetOf(MediaType contentType) {
+        return contentType != null && contentType.getCharset() != null ? contentType.getCharset() : UTF_8;
+    }
+
+    private static boolean isBlank(byte[] content) {
+        for (byte b : content) {
+            if (b < 0 || b > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
 }
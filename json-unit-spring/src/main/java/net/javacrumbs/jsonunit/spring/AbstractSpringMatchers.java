@@ -17,12 +17,14 @@ package net.javacrumbs.jsonunit.spring;
 
 import net.javacrumbs.jsonunit.core.Configuration;
 import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.PathExpectation;
 import net.javacrumbs.jsonunit.core.internal.Path;
 import net.javacrumbs.jsonunit.core.internal.matchers.InternalMatcher;
 import net.javacrumbs.jsonunit.core.listener.DifferenceListener;
 import org.hamcrest.Matcher;
 
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 
@@ -200,6 +202,16 @@ abstract class AbstractSpringMatchers<ME, MATCHER> {
         return matcher((actual, ctx) -> ctx.matches(matcher));
     }
 
+    /**
+     * Checks multiple nodes in one pass over the document. Paths are relative to the current node,
+     * all the failures are reported together.
+     *
+     * @param expectations path to expected value, Hamcrest matcher or {@link PathExpectation}
+     */
+    public MATCHER hasPaths(final Map<String, ?> expectations) {
+        return matcher((actual, ctx) -> ctx.hasPaths(expectations));
+    }
+
     /**
      * Fails if selected JSON is not true.
      */
@@ -0,0 +1,97 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.spring;
+
+import net.javacrumbs.jsonunit.core.internal.Node;
+import org.springframework.http.MediaType;
+
+import java.util.function.Consumer;
+
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.wrapDeserializedObject;
+import static net.javacrumbs.jsonunit.core.internal.matchers.InternalMatcher.ACTUAL;
+
+/**
+ * Reads streamed body line by line and parses each element as soon as it is complete.
+ * Newline delimited JSON has one element per line, server sent events have one element per event data.
+ * Event data that are not valid JSON are taken as string values.
+ */
+final class JsonStreamParser {
+    private static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+    private static final MediaType APPLICATION_STREAM_JSON = MediaType.valueOf("application/stream+json");
+    private static final String SSE_DATA = "data:";
+
+    private final boolean serverSentEvents;
+    private final Consumer<Node> elementConsumer;
+    private StringBuilder data;
+
+    JsonStreamParser(MediaType contentType, Consumer<Node> elementConsumer) {
+        this.serverSentEvents = contentType != null && contentType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+        this.elementConsumer = elementConsumer;
+    }
+
+    /**
+     * Returns true if the content type denotes newline delimited JSON or server sent events.
+     */
+    static boolean isStream(MediaType contentType) {
+        return contentType != null && (contentType.isCompatibleWith(APPLICATION_NDJSON)
+            || contentType.isCompatibleWith(APPLICATION_STREAM_JSON)
+            || contentType.isCompatibleWith(MediaType.TEXT_EVENT_STREAM));
+    }
+
+    /**
+     * Accepts one line without the line terminator.
+     */
+    void line(String line) {
+        if (!serverSentEvents) {
+            if (!line.trim().isEmpty()) {
+                elementConsumer.accept(convertToJson(line, ACTUAL));
+            }
+        } else if (line.isEmpty()) {
+            flushEvent();
+        } else if (line.startsWith(SSE_DATA)) {
+            // multiple data lines of one event are joined by a new line, comments and other fields are skipped
+            String value = line.substring(SSE_DATA.length());
+            if (value.startsWith(" ")) {
+                value = value.substring(1);
+            }
+            data = data == null ? new StringBuilder(value) : data.append('\n').append(value);
+        }
+    }
+
+    /**
+     * Signals end of the stream, the last event does not have to be terminated by an empty line.
+     */
+    void end() {
+        flushEvent();
+    }
+
+    private void flushEvent() {
+        if (data != null) {
+            String value = data.toString();
+            data = null;
+            elementConsumer.accept(parseEventData(value));
+        }
+    }
+
+    private static Node parseEventData(String value) {
+        try {
+            return convertToJson(value, ACTUAL);
+        } catch (IllegalArgumentException e) {
+            return wrapDeserializedObject(value);
+        }
+    }
+}
@@ -23,6 +23,9 @@ import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.test.web.client.RequestMatcher;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.BiConsumer;
 
 
@@ -62,14 +65,38 @@ public class JsonUnitRequestMatchers extends AbstractSpringMatchers<JsonUnitRequ
 
 
     private static class JsonRequestMatcher extends AbstractSpringMatcher implements RequestMatcher {
+        /**
+         * Parsed request bodies, so the body is parsed only once for all matchers of a request.
+         */
+        private static final Map<ClientHttpRequest, Object> PARSED_BODIES = Collections.synchronizedMap(new WeakHashMap<>());
+
         private JsonRequestMatcher(Path path, Configuration configuration, BiConsumer<Object, InternalMatcher> matcher) {
             super(path, configuration, matcher);
         }
 
         @Override
         public void match(ClientHttpRequest request) throws IOException, AssertionError {
-            Object actual = ((MockClientHttpRequest) request).getBodyAsString();
-            doMatch(actual);
+            doMatch(parsedBody(request));
+        }
+
+        /**
+         * The body is parsed outside of the lock, so requests verified in parallel do not wait for each other.
+         * If the same request is parsed concurrently, the first stored result is used.
+         */
+        private static Object parsedBody(ClientHttpRequest request) {
+            Object parsed = PARSED_BODIES.get(request);
+            if (parsed == null) {
+                Object body = parseRequestBody(request);
+                parsed = PARSED_BODIES.putIfAbsent(request, body);
+                if (parsed == null) {
+                    parsed = body;
+                }
+            }
+            return parsed;
+        }
+
+        private static Object parseRequestBody(ClientHttpRequest request) {
+            return parseBody(((MockClientHttpRequest) request).getBodyAsBytes(), charsetOf(request.getHeaders().getContentType()));
         }
     }
 }
@@ -18,9 +18,12 @@ package net.javacrumbs.jsonunit.spring;
 import net.javacrumbs.jsonunit.core.Configuration;
 import net.javacrumbs.jsonunit.core.internal.Path;
 import net.javacrumbs.jsonunit.core.internal.matchers.InternalMatcher;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultMatcher;
 
+import javax.servlet.http.HttpServletRequest;
+import java.nio.charset.Charset;
 import java.util.function.BiConsumer;
 
 /**
@@ -56,14 +59,42 @@ public class JsonUnitResultMatchers extends AbstractSpringMatchers<JsonUnitResul
 
 
     private static class JsonResultMatcher extends AbstractSpringMatcher implements ResultMatcher {
+        /**
+         * Parsed response body is stored in request attributes, so it's parsed only once for all matchers.
+         * The request may be reused with another response, for example by async dispatch, so the response is
+         * stored together with the body.
+         */
+        private static final String ACTUAL_ATTRIBUTE = JsonResultMatcher.class.getName() + ".actual";
+
         private JsonResultMatcher(Path path, Configuration configuration, BiConsumer<Object, InternalMatcher> matcher) {
             super(path, configuration, matcher);
         }
 
         @Override
         public void match(MvcResult result) throws Exception {
-            String actual = result.getResponse().getContentAsString();
-            doMatch(actual);
+            doMatch(getActual(result));
+        }
+
+        private static Object getActual(MvcResult result) {
+            HttpServletRequest request = result.getRequest();
+            MockHttpServletResponse response = result.getResponse();
+            Object parsed = request.getAttribute(ACTUAL_ATTRIBUTE);
+            if (parsed instanceof ParsedBody && ((ParsedBody) parsed).response == response) {
+                return ((ParsedBody) parsed).actual;
+            }
+            Object actual = parseBody(response.getContentAsByteArray(), Charset.forName(response.getCharacterEncoding()));
+            request.setAttribute(ACTUAL_ATTRIBUTE, new ParsedBody(response, actual));
+            return actual;
+        }
+    }
+
+    private static final class ParsedBody {
+        private final MockHttpServletResponse response;
+        private final Object actual;
+
+        private ParsedBody(MockHttpServletResponse response, Object actual) {
+            this.response = response;
+            this.actual = actual;
         }
     }
 }
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.spring;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.internal.Node;
+import net.javacrumbs.jsonunit.core.internal.Path;
+import net.javacrumbs.jsonunit.core.internal.matchers.InternalMatcher;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.wrapDeserializedObject;
+
+/**
+ * Matchers compatible with Spring WebTestClient.
+ * <p/>
+ * Sample usage:
+ * <p/>
+ * <code>
+ * client.get().uri("/sample").exchange().expectBody().consumeWith(json().node("result").isEqualTo(CORRECT_JSON));
+ * </code>
+ * <p/>
+ * Streamed bodies, newline delimited JSON (application/x-ndjson, application/stream+json) and server sent events
+ * (text/event-stream), are compared as an array of the streamed elements, so <code>json().node("[0].id")</code>
+ * checks the first element. Data of server sent events that are not valid JSON are compared as strings.
+ * Use {@link JsonUnitWebTestClientStreamMatchers} to check each element as it arrives.
+ */
+public class JsonUnitWebTestClientMatchers extends AbstractSpringMatchers<JsonUnitWebTestClientMatchers, Consumer<EntityExchangeResult<byte[]>>> {
+    private JsonUnitWebTestClientMatchers(Path path, Configuration configuration) {
+        super(path, configuration);
+    }
+
+    /**
+     * Creates JsonUnitWebTestClientMatchers to be used for JSON assertions.
+     */
+    public static JsonUnitWebTestClientMatchers json() {
+        return new JsonUnitWebTestClientMatchers(Path.root(), Configuration.empty());
+    }
+
+    @Override
+    Consumer<EntityExchangeResult<byte[]>> matcher(BiConsumer<Object, InternalMatcher> matcher) {
+        return new JsonWebTestClientMatcher(path, configuration, matcher);
+    }
+
+    @Override
+    JsonUnitWebTestClientMatchers matchers(Path path, Configuration configuration) {
+        return new JsonUnitWebTestClientMatchers(path, configuration);
+    }
+
+
+    private static class JsonWebTestClientMatcher extends AbstractSpringMatcher implements Consumer<EntityExchangeResult<byte[]>> {
+        private JsonWebTestClientMatcher(Path path, Configuration configuration, BiConsumer<Object, InternalMatcher> matcher) {
+            super(path, configuration, matcher);
+        }
+
+        @Override
+        public void accept(EntityExchangeResult<byte[]> result) {
+            byte[] body = result.getResponseBody() != null ? result.getResponseBody() : new byte[0];
+            MediaType contentType = result.getResponseHeaders().getContentType();
+            Charset charset = charsetOf(contentType);
+            if (JsonStreamParser.isStream(contentType)) {
+                doMatch(parseStream(body, charset, contentType));
+            } else {
+                doMatch(parseBody(body, charset));
+            }
+        }
+
+        /**
+         * Parses each streamed element on its own and wraps them to an array node.
+         */
+        private static Node parseStream(byte[] body, Charset charset, MediaType contentType) {
+            List<Node> elements = new ArrayList<>();
+            JsonStreamParser parser = new JsonStreamParser(contentType, elements::add);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    parser.line(line);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            parser.end();
+            return wrapDeserializedObject(elements);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.spring;
+
+import net.javacrumbs.jsonunit.core.Configuration;
+import net.javacrumbs.jsonunit.core.internal.Path;
+import net.javacrumbs.jsonunit.core.internal.matchers.InternalMatcher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Matchers compatible with Spring WebTestClient that check each element of a streamed body as it arrives,
+ * without waiting for the whole stream.
+ * <p/>
+ * Sample usage:
+ * <p/>
+ * <code>
+ * client.get().uri("/stream").exchange().returnResult(DataBuffer.class).consumeWith(eachElement().node("id").isNumber());
+ * </code>
+ * <p/>
+ * Server sent events (text/event-stream) are split by events, other content types are read as newline delimited JSON.
+ * The first element that does not match fails the assertion and cancels the stream.
+ */
+public class JsonUnitWebTestClientStreamMatchers extends AbstractSpringMatchers<JsonUnitWebTestClientStreamMatchers, Consumer<FluxExchangeResult<DataBuffer>>> {
+    private JsonUnitWebTestClientStreamMatchers(Path path, Configuration configuration) {
+        super(path, configuration);
+    }
+
+    /**
+     * Creates JsonUnitWebTestClientStreamMatchers to be used for JSON assertions of each streamed element.
+     */
+    public static JsonUnitWebTestClientStreamMatchers eachElement() {
+        return new JsonUnitWebTestClientStreamMatchers(Path.root(), Configuration.empty());
+    }
+
+    @Override
+    Consumer<FluxExchangeResult<DataBuffer>> matcher(BiConsumer<Object, InternalMatcher> matcher) {
+        return new JsonStreamMatcher(path, configuration, matcher);
+    }
+
+    @Override
+    JsonUnitWebTestClientStreamMatchers matchers(Path path, Configuration configuration) {
+        return new JsonUnitWebTestClientStreamMatchers(path, configuration);
+    }
+
+
+    private static class JsonStreamMatcher extends AbstractSpringMatcher implements Consumer<FluxExchangeResult<DataBuffer>> {
+        private JsonStreamMatcher(Path path, Configuration configuration, BiConsumer<Object, InternalMatcher> matcher) {
+            super(path, configuration, matcher);
+        }
+
+        @Override
+        public void accept(FluxExchangeResult<DataBuffer> result) {
+            MediaType contentType = result.getResponseHeaders().getContentType();
+            LineSplitter lines = new LineSplitter(charsetOf(contentType), new JsonStreamParser(contentType, this::doMatch));
+            // closing the stream cancels the subscription if an element does not match
+            try (Stream<DataBuffer> buffers = result.getResponseBody().toStream()) {
+                buffers.forEach(lines::accept);
+            }
+            lines.end();
+        }
+    }
+
+    /**
+     * Splits data buffers to lines, a line may span multiple buffers. Bytes are decoded before
+     * the split, so multibyte characters and line terminators may be split between buffers too.
+     */
+    private static class LineSplitter {
+        private final CharsetDecoder decoder;
+        private final JsonStreamParser parser;
+        private final CharBuffer chars = CharBuffer.allocate(1024);
+        private final StringBuilder pending = new StringBuilder();
+        private ByteBuffer undecoded = ByteBuffer.allocate(0);
+
+        private LineSplitter(Charset charset, JsonStreamParser parser) {
+            this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.parser = parser;
+        }
+
+        private void accept(DataBuffer buffer) {
+            ByteBuffer input = ByteBuffer.allocate(undecoded.remaining() + buffer.readableByteCount());
+            input.put(undecoded);
+            buffer.read(input.array(), input.position(), input.remaining());
+            DataBufferUtils.release(buffer);
+            input.rewind();
+
+            decode(input, false);
+            // incomplete character at the end of the buffer is decoded with the next one
+            undecoded = input;
+        }
+
+        private void end() {
+            decode(undecoded, true);
+            CoderResult result;
+            do {
+                result = decoder.flush(chars);
+                split();
+            } while (result.isOverflow());
+            if (pending.length() > 0) {
+                flushLine();
+            }
+            parser.end();
+        }
+
+        private void decode(ByteBuffer input, boolean endOfInput) {
+            CoderResult result;
+            do {
+                result = decoder.decode(input, chars, endOfInput);
+                split();
+            } while (result.isOverflow());
+        }
+
+        private void split() {
+            chars.flip();
+            while (chars.hasRemaining()) {
+                char c = chars.get();
+                if (c == '\n') {
+                    flushLine();
+                } else {
+                    pending.append(c);
+                }
+            }
+            chars.clear();
+        }
+
+        private void flushLine() {
+            int length = pending.length();
+            String line = length > 0 && pending.charAt(length - 1) == '\r' ? pending.substring(0, length - 1) : pending.toString();
+            pending.setLength(0);
+            parser.line(line);
+        }
+    }
+}
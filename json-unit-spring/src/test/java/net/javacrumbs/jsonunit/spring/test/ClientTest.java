@@ -18,11 +18,18 @@ package net.javacrumbs.jsonunit.spring.test;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 import static net.javacrumbs.jsonunit.spring.JsonUnitRequestMatchers.json;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
 import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
 import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
@@ -58,4 +65,32 @@ public class ClientTest {
 
         assertThat(restTemplate.postForEntity(URI, json, String.class).getBody()).isEqualTo(jsonResponse);
     }
+
+    @Test
+    void shouldAssertClientWithMultipleMatchers() {
+        String jsonResponse = "{\"response\": 2}";
+        String json = "{\"test\": 1, \"array\": [1, 2], \"string\": \"value\"}";
+
+        mockServer.expect(requestTo(URI))
+                          .andExpect(json().node("test").isEqualTo(1))
+                          .andExpect(json().node("array").isArray())
+                          .andExpect(json().node("string").isStringEqualTo("value"))
+                          .andExpect(json().node("missing").isAbsent())
+                          .andRespond(withSuccess(jsonResponse, MediaType.APPLICATION_JSON_UTF8));
+
+        assertThat(restTemplate.postForEntity(URI, json, String.class).getBody()).isEqualTo(jsonResponse);
+    }
+
+    @Test
+    void shouldParseRequestBodyOnceForAllMatchers() throws IOException {
+        MockClientHttpRequest request = spy(new MockClientHttpRequest(HttpMethod.POST, java.net.URI.create(URI)));
+        request.getHeaders().setContentType(MediaType.APPLICATION_JSON_UTF8);
+        request.getBody().write("{\"test\": 1, \"array\": [1, 2]}".getBytes(StandardCharsets.UTF_8));
+
+        json().node("test").isEqualTo(1).match(request);
+        json().node("array").isArray().match(request);
+        json().node("missing").isAbsent().match(request);
+
+        verify(request, times(1)).getBodyAsBytes();
+    }
 }
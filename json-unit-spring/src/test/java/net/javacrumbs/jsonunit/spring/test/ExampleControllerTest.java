@@ -24,15 +24,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import static java.math.BigDecimal.valueOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static net.javacrumbs.jsonunit.spring.JsonUnitResultMatchers.json;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.Matchers.everyItem;
@@ -40,6 +43,7 @@ import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -227,6 +231,30 @@ public class ExampleControllerTest {
                 "Different value found in node \"result.string\", expected: <\"stringValue2\"> but was: <\"stringValue\">.\n");
     }
 
+    @Test
+    public void multipleMatchersShouldShareParsedBody() throws Exception {
+        MvcResult result = exec().andExpect(json().node("result.string").isEqualTo("stringValue")).andReturn();
+
+        // the body is not parsed again, so the matchers pass even if the content is cleared
+        result.getResponse().setCommitted(false);
+        result.getResponse().resetBuffer();
+        json().node("result.array").isArray().match(result);
+        json().node("result.missing").isAbsent().match(result);
+    }
+
+    @Test
+    public void parsedBodyShouldNotBeSharedWithOtherResponse() throws Exception {
+        MvcResult result = exec().andExpect(json().node("result.string").isEqualTo("stringValue")).andReturn();
+
+        // async dispatch reuses the request with a new response
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.getOutputStream().write("{\"result\":{\"string\":\"otherValue\"}}".getBytes(UTF_8));
+        MvcResult otherResult = mock(MvcResult.class);
+        when(otherResult.getRequest()).thenReturn(result.getRequest());
+        when(otherResult.getResponse()).thenReturn(response);
+        json().node("result.string").isEqualTo("otherValue").match(otherResult);
+    }
+
     @Test
     public void intValueShouldMatch() throws Exception {
         exec().andExpect(json().node("result.array").matches(everyItem(lessThanOrEqualTo(valueOf(4)))));
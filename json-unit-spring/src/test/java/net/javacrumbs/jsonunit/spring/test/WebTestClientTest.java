@@ -0,0 +1,149 @@
+/**
+ * Copyright 2009-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.javacrumbs.jsonunit.spring.test;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_16;
+import static net.javacrumbs.jsonunit.spring.JsonUnitWebTestClientMatchers.json;
+import static net.javacrumbs.jsonunit.spring.JsonUnitWebTestClientStreamMatchers.eachElement;
+import static net.javacrumbs.jsonunit.spring.test.ExampleControllerTest.CORRECT_JSON;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+import static org.springframework.web.reactive.function.server.ServerResponse.ok;
+
+class WebTestClientTest {
+    private final WebTestClient client = WebTestClient.bindToController(new ExampleController()).build();
+
+    private final WebTestClient streamingClient = WebTestClient.bindToRouterFunction(
+        route(GET("/stream"), request -> ok().contentType(MediaType.APPLICATION_STREAM_JSON).body(elements(), Element.class))
+            .andRoute(GET("/sse"), request -> ok().contentType(MediaType.TEXT_EVENT_STREAM).body(elements(), Element.class))
+            .andRoute(GET("/text-sse"), request -> ok().contentType(MediaType.TEXT_EVENT_STREAM).body(Flux.just("hello", "world"), String.class))
+            .andRoute(GET("/utf16-stream"), request -> ok().contentType(MediaType.valueOf("application/x-ndjson;charset=UTF-16"))
+                .body(BodyInserters.fromDataBuffers(chunks("{\"id\":1}\r\n{\"id\":2}\n".getBytes(UTF_16), 3))))
+    ).build();
+
+    @Test
+    void shouldPassIfEquals() {
+        client.get().uri("/sample").exchange()
+            .expectBody()
+            .consumeWith(json().isEqualTo(CORRECT_JSON))
+            .consumeWith(json().node("result.array").isArray());
+    }
+
+    @Test
+    void isEqualToInNodeFailIfDoesNotEqual() {
+        assertThatThrownBy(() -> client.get().uri("/sample").exchange()
+            .expectBody()
+            .consumeWith(json().node("result.string").isEqualTo("stringValue2")))
+            .hasMessageStartingWith("JSON documents are different:\n" +
+                "Different value found in node \"result.string\", expected: <\"stringValue2\"> but was: <\"stringValue\">.\n");
+    }
+
+    @Test
+    void shouldCompareStreamElements() {
+        streamingClient.get().uri("/stream").exchange()
+            .expectBody()
+            .consumeWith(json().isEqualTo("[{\"id\": 1}, {\"id\": 2}]"))
+            .consumeWith(json().node("[1].id").isEqualTo(2));
+    }
+
+    @Test
+    void shouldCompareServerSentEvents() {
+        streamingClient.get().uri("/sse").exchange()
+            .expectBody()
+            .consumeWith(json().isEqualTo("[{\"id\": 1}, {\"id\": 2}]"));
+    }
+
+    @Test
+    void shouldFailOnDifferentStreamElement() {
+        assertThatThrownBy(() -> streamingClient.get().uri("/stream").exchange()
+            .expectBody()
+            .consumeWith(json().node("[0].id").isEqualTo(2)))
+            .hasMessageStartingWith("JSON documents are different:\n" +
+                "Different value found in node \"[0].id\", expected: <2> but was: <1>.\n");
+    }
+
+    @Test
+    void shouldCompareNonJsonEventDataAsStrings() {
+        streamingClient.get().uri("/text-sse").exchange()
+            .expectBody()
+            .consumeWith(json().isEqualTo("[\"hello\", \"world\"]"));
+    }
+
+    @Test
+    void shouldCheckEachStreamElement() {
+        streamingClient.get().uri("/stream").exchange()
+            .returnResult(DataBuffer.class)
+            .consumeWith(eachElement().node("id").isPresent());
+    }
+
+    @Test
+    void shouldCheckEachServerSentEvent() {
+        streamingClient.get().uri("/text-sse").exchange()
+            .returnResult(DataBuffer.class)
+            .consumeWith(eachElement().isString());
+    }
+
+    @Test
+    void shouldFailOnFirstDifferentStreamElement() {
+        assertThatThrownBy(() -> streamingClient.get().uri("/stream").exchange()
+            .returnResult(DataBuffer.class)
+            .consumeWith(eachElement().node("id").isEqualTo(1)))
+            .hasMessageStartingWith("JSON documents are different:\n" +
+                "Different value found in node \"id\", expected: <1> but was: <2>.\n");
+    }
+
+    @Test
+    void shouldSplitStreamInMultibyteCharset() {
+        assertThatThrownBy(() -> streamingClient.get().uri("/utf16-stream").exchange()
+            .returnResult(DataBuffer.class)
+            .consumeWith(eachElement().node("id").isEqualTo(1)))
+            .hasMessageStartingWith("JSON documents are different:\n" +
+                "Different value found in node \"id\", expected: <1> but was: <2>.\n");
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] bytes, int chunkSize) {
+        DefaultDataBufferFactory factory = new DefaultDataBufferFactory();
+        return Flux.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+            .map(i -> factory.wrap(Arrays.copyOfRange(bytes, i * chunkSize, Math.min(bytes.length, (i + 1) * chunkSize))));
+    }
+
+    private static Flux<Element> elements() {
+        return Flux.just(new Element(1), new Element(2));
+    }
+
+    private static class Element {
+        private final int id;
+
+        private Element(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+    }
+}
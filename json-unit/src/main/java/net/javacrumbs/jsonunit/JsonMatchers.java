@@ -30,10 +30,9 @@ import org.hamcrest.Description;
 import org.hamcrest.Matcher;
 
 import java.math.BigDecimal;
-import java.util.IdentityHashMap;
-import java.util.Map;
 
 import static net.javacrumbs.jsonunit.core.internal.Diff.createInternal;
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertExpectedToJson;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.getNode;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.getPathPrefix;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.nodeAbsent;
@@ -193,11 +192,15 @@ public class JsonMatchers {
         // IntelliJ integration is broken by default difference string. Hamcrest generates 'Expected:' and IntelliJ searches for last 'but was:' and everything between is taken as expected value
         private static final String HAMCREST_DIFFERENCE_STRING = "expected <%s> but was <%s>";
         private final Object expected;
+        private Node expectedNode;
 
         // One matcher can be used to match multiple array items. We need to persist diff description between doMatch() and
         // describeMismatch() method calls. While Hamcrest 1 called doMatch() and describeMismatch() one after each other
-        // Hamcrest 2 calls doMatch() multiple times followed by multiple calls of describeMismatch()
-        private final Map<Object, String> differences = new IdentityHashMap<>();
+        // Hamcrest 2 calls doMatch() multiple times followed by multiple calls of describeMismatch().
+        // Only the last mismatch is kept, differences are formatted only if the mismatch is described. Differences of other
+        // items are computed again when needed.
+        private Object lastMismatchedItem;
+        private Diff lastMismatch;
 
         JsonPartMatcher(String path, Object expected) {
             super(path);
@@ -205,11 +208,22 @@ public class JsonMatchers {
         }
 
         boolean doMatch(Object item) {
-            Diff diff = createInternal(expected, item, FULL_JSON,  Path.create(path, ""), configuration, HAMCREST_DIFFERENCE_STRING);
-            if (!diff.similar()) {
-                differences.put(item, diff.differences());
+            Diff diff = createDiff(item);
+            if (diff.similar()) {
+                return true;
+            } else {
+                lastMismatchedItem = item;
+                lastMismatch = diff;
+                return false;
+            }
+        }
+
+        private Diff createDiff(Object item) {
+            if (expectedNode == null) {
+                // expected value is parsed only once, even if the matcher is used for many items
+                expectedNode = convertExpectedToJson(expected);
             }
-            return diff.similar();
+            return createInternal(expectedNode, item, FULL_JSON, Path.create(path, ""), configuration, HAMCREST_DIFFERENCE_STRING);
         }
 
         public void describeTo(Description description) {
@@ -226,7 +240,8 @@ public class JsonMatchers {
 
         @Override
         public void describeMismatch(Object item, Description description) {
-            description.appendText(differences.get(item));
+            Diff diff = item == lastMismatchedItem ? lastMismatch : createDiff(item);
+            description.appendText(diff.differences());
         }
     }
 
@@ -17,17 +17,20 @@ package net.javacrumbs.jsonunit.test.base;
 
 import net.javacrumbs.jsonunit.assertj.JsonAssert.ConfigurableJsonAssert;
 import net.javacrumbs.jsonunit.core.Option;
+import net.javacrumbs.jsonunit.core.PathExpectation;
 import org.junit.jupiter.api.Test;
 import org.opentest4j.MultipleFailuresError;
 
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import static java.math.BigDecimal.valueOf;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.joining;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.json;
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.value;
@@ -392,6 +395,58 @@ public abstract class AbstractAssertJTest {
             .containsExactlyInAnyOrder(json("{\"c\": 1}"), json("{\"b\": 1}"), json("{\"d\": 1}"));
     }
 
+    @Test
+    void largeArrayIgnoringOrderComparison() {
+        String actual = IntStream.range(0, 1000).mapToObj(i -> "{\"id\":" + i + ",\"name\":\"n" + i + "\"}").collect(joining(",", "[", "]"));
+        Object[] expected = IntStream.range(0, 1000).map(i -> 999 - i).mapToObj(i -> json("{\"id\":" + i + ",\"name\":\"${json-unit.any-string}\"}")).toArray();
+        assertThatJson(actual).isArray().containsExactlyInAnyOrderJsonValues(expected);
+    }
+
+    @Test
+    void largeArrayContainsJsonValues() {
+        String actual = IntStream.range(0, 1000).mapToObj(i -> "{\"id\":" + i + ",\"name\":\"n" + i + "\"}").collect(joining(",", "[", "]"));
+        assertThatJson(actual).isArray()
+            .containsJsonValues(json("{\"id\":999,\"name\":\"${json-unit.any-string}\"}"), json("{\"id\":0,\"name\":\"n0\"}"));
+    }
+
+    @Test
+    void shouldCheckMultiplePaths() {
+        Map<String, Object> expectations = new LinkedHashMap<>();
+        expectations.put("a", 1);
+        expectations.put("b.c", PathExpectation.isString());
+        expectations.put("b.d", PathExpectation.isAbsent());
+        expectations.put("b.e[1]", greaterThan(valueOf(2)));
+        expectations.put("b.e[-1]", "{\"f\": true}");
+        assertThatJson("{\"a\":1, \"b\":{\"c\":\"x\", \"e\":[1, 3, {\"f\": true}]}}").hasPaths(expectations);
+    }
+
+    @Test
+    void shouldReportAllPathFailures() {
+        Map<String, Object> expectations = new LinkedHashMap<>();
+        expectations.put("a", 2);
+        expectations.put("c", PathExpectation.isAbsent());
+        expectations.put("d", PathExpectation.isPresent());
+        assertThatThrownBy(() -> assertThatJson("{\"root\": {\"a\":1, \"c\":true}}").node("root").hasPaths(expectations))
+            .hasMessageContaining("Different value found in node \"root.a\", expected: <2> but was: <1>.")
+            .hasMessageContaining("Different value found in node \"root.c\", expected: <node to be absent> but was: <true>.")
+            .hasMessageContaining("Different value found in node \"root.d\", expected: <node to be present> but was: <missing>.");
+    }
+
+    @Test
+    void arrayIgnoringOrderComparisonError() {
+        assertThatThrownBy(() -> assertThatJson("[{\"b\": 1}, {\"c\": 1}]").isArray()
+            .containsExactlyInAnyOrderJsonValues(json("{\"c\": 1}"), json("{\"b\": 2}")))
+            .isInstanceOf(AssertionError.class);
+    }
+
+    @Test
+    void containsJsonValuesError() {
+        assertThatThrownBy(() -> assertThatJson("[{\"b\": 1}, {\"c\": 1}]").isArray()
+            .containsJsonValues(json("{\"c\": 1}"), json("{\"b\": 2}")))
+            .isInstanceOf(AssertionError.class)
+            .hasMessageContaining("{\"b\":2}");
+    }
+
     @Test
     void arraySimpleIgnoringOrderComparison() {
         assertThatJson("{\"a\":[{\"b\": 1}, {\"c\": 1}, {\"d\": 1}]}").when(Option.IGNORING_ARRAY_ORDER).node("a").isArray()
@@ -1144,6 +1199,15 @@ public abstract class AbstractAssertJTest {
             );
     }
 
+    @Test
+    void jsonPathsInIgnoredPathsAndOptions() {
+        assertThatJson("{\"a\":[3,2,1], \"b\":{\"c\":[1,2], \"d\":1}}")
+            .withConfiguration(c -> c.whenIgnoringPaths("$.b.d")
+                .when(paths("$.a", "$.b.c"), then(IGNORING_ARRAY_ORDER))
+                .when(path("$.a"), then(IGNORING_EXTRA_ARRAY_ITEMS)))
+            .isEqualTo("{\"a\":[1,2], \"b\":{\"c\":[2,1], \"d\":2}}");
+    }
+
     @Test
     void jsonPathWithNode() {
         assertThatJson(json)
@@ -16,7 +16,9 @@
 package net.javacrumbs.jsonunit.test.base;
 
 import net.javacrumbs.jsonunit.JsonAssert;
+import net.javacrumbs.jsonunit.core.Configuration;
 import net.javacrumbs.jsonunit.core.ParametrizedMatcher;
+import net.javacrumbs.jsonunit.core.ParametrizedMatcherFactory;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
@@ -26,6 +28,7 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 import java.io.StringReader;
 import java.math.BigDecimal;
+import java.util.stream.IntStream;
 
 import static java.math.BigDecimal.ZERO;
 import static java.math.BigDecimal.valueOf;
@@ -937,6 +940,15 @@ public abstract class AbstractJsonAssertTest {
         assertJsonEquals("{\"test\": \"${json-unit.matches:isDivisibleBy}3\"}", "{\"test\":6}", JsonAssert.withMatcher("isDivisibleBy", divisionMatcher));
     }
 
+    @Test
+    void boundParametrizedMatcherShouldBeSharedByParallelComparisons() {
+        Configuration configuration = JsonAssert.withMatcher("isDivisibleBy", new BoundDivisionMatcher(null));
+        IntStream.range(1, 1000).parallel().forEach(i -> {
+            assertJsonEquals("{\"test\": \"${json-unit.matches:isDivisibleBy}" + i + "\"}", "{\"test\":" + (i * 3) + "}", configuration);
+            assertJsonNotEquals("{\"test\": \"${json-unit.matches:isDivisibleBy}" + (i + 1) + "\"}", "{\"test\":" + (i * (i + 1) + 1) + "}", configuration);
+        });
+    }
+
     @Test
     void missingParameterShouldResultInEmptyString() {
         Matcher<?> divisionMatcher = new DivisionMatcher();
@@ -1001,6 +1013,27 @@ public abstract class AbstractJsonAssertTest {
         }
     }
 
+    private static class BoundDivisionMatcher extends BaseMatcher<Object> implements ParametrizedMatcherFactory {
+        private final BigDecimal param;
+
+        private BoundDivisionMatcher(BigDecimal param) {
+            this.param = param;
+        }
+
+        public boolean matches(Object item) {
+            return ((BigDecimal)item).remainder(param).compareTo(ZERO) == 0;
+        }
+
+        public void describeTo(Description description) {
+            description.appendValue(param);
+        }
+
+        @Override
+        public Matcher<?> withParameter(String parameter) {
+            return new BoundDivisionMatcher(new BigDecimal(parameter));
+        }
+    }
+
     private static class TrueMatcher extends BaseMatcher<Object> implements ParametrizedMatcher {
         private String param;
 
@@ -36,6 +36,7 @@ import static net.javacrumbs.jsonunit.core.Option.IGNORING_EXTRA_FIELDS;
 import static net.javacrumbs.jsonunit.core.Option.IGNORING_VALUES;
 import static net.javacrumbs.jsonunit.core.Option.TREATING_NULL_AS_ABSENT;
 import static net.javacrumbs.jsonunit.core.internal.JsonUtils.jsonSource;
+import static net.javacrumbs.jsonunit.core.util.ResourceUtils.parsedResource;
 import static net.javacrumbs.jsonunit.core.util.ResourceUtils.resource;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.containsString;
@@ -302,6 +303,12 @@ public abstract class AbstractJsonMatchersTest {
         }
     }
 
+    @Test
+    void jsonEqualsParsedResource() {
+        assertThat("{\"test\":1}", jsonEquals(parsedResource("test.json")));
+        assertThat("{\"test\":2}", not(jsonEquals(parsedResource("test.json"))));
+    }
+
     @Test
     void jsonEqualsResourceShouldReturnReasonWhenResourceIsMissing() {
         try {
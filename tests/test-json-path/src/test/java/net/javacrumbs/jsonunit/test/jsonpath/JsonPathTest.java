@@ -18,6 +18,7 @@ package net.javacrumbs.jsonunit.test.jsonpath;
 import net.javacrumbs.jsonunit.core.Option;
 import org.junit.jupiter.api.Test;
 
+import static net.javacrumbs.jsonunit.core.internal.JsonUtils.convertToJson;
 import static net.javacrumbs.jsonunit.fluent.JsonFluentAssert.assertThatJson;
 import static net.javacrumbs.jsonunit.jsonpath.JsonPathAdapter.inPath;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -74,6 +75,23 @@ public class JsonPathTest {
     }
 
 
+    @Test
+    public void shouldBeAbleToUseFiltersAndDeepScan() {
+        assertThatJson(inPath(json, "$.store.book[?(@.price < 10)].title"))
+            .isEqualTo("['Sayings of the Century', 'Moby Dick']");
+        assertThatJson(inPath(json, "$..bicycle"))
+            .isEqualTo("[{\"color\": \"red\", \"price\": 19.95}]");
+    }
+
+    @Test
+    public void shouldBeAbleToUseParsedValue() {
+        Object parsed = convertToJson(json, "actual");
+        assertThatJson(inPath(parsed, "$.store.bicycle"))
+            .isEqualTo("{\"color\": \"red\", \"price\": 19.95}");
+        assertThatJson(inPath(parsed, "$.store.book.length()")).isEqualTo(4);
+    }
+
+
     private static final String json = "{\n" +
         "    \"store\": {\n" +
         "        \"book\": [\n" +